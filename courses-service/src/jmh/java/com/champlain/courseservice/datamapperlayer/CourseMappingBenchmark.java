@@ -0,0 +1,74 @@
+package com.champlain.courseservice.datamapperlayer;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.presentationlayer.CourseRequestModel;
+import com.champlain.courseservice.presentationlayer.CourseResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+   Time to map one course, the BeanUtils.copyProperties the services used before against the generated
+   MapStruct mappers. Run with -Pjmh.includes=CourseMapping, the gc profiler the jmh task runs with reports the
+   bytes allocated per mapping (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CourseMappingBenchmark {
+
+    @Param({"reflective", "generated"})
+    public String mapping;
+
+    private Course course;
+    private CourseRequestModel courseRequestModel;
+
+    @Setup
+    public void setUp() {
+        course = Course.builder()
+                .id(1)
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        courseRequestModel = CourseRequestModel.builder()
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+    }
+
+    @Benchmark
+    public CourseResponseModel toResponseModel() {
+        if (mapping.equals("generated")) {
+            return CourseResponseMapper.INSTANCE.entityToResponseModel(course);
+        }
+        CourseResponseModel courseResponseModel = new CourseResponseModel();
+        BeanUtils.copyProperties(course, courseResponseModel);
+        return courseResponseModel;
+    }
+
+    @Benchmark
+    public Course toEntity() {
+        if (mapping.equals("generated")) {
+            return CourseRequestMapper.INSTANCE.requestModelToEntity(courseRequestModel);
+        }
+        Course entity = new Course();
+        BeanUtils.copyProperties(courseRequestModel, entity);
+        return entity;
+    }
+}
@@ -0,0 +1,59 @@
+package com.champlain.courseservice.businesslayer;
+
+import com.champlain.courseservice.presentationlayer.CourseChangeEvent;
+import com.champlain.courseservice.presentationlayer.CourseResponseModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+   In-memory feed of course changes. Every subscriber of changes() receives the events published after it
+   subscribed, nothing is replayed, so a consumer that reconnects may have missed changes in between.
+   A subscriber that falls more than BUFFER_SIZE events behind loses the oldest ones instead of slowing
+   down the writes.
+ */
+@Component
+@Slf4j
+public class CourseChangePublisher {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final Sinks.Many<CourseChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    public void publishUpdated(CourseResponseModel course) {
+        publish(CourseChangeEvent.builder()
+                .changeType(CourseChangeEvent.ChangeType.UPDATED)
+                .courseId(course.getCourseId())
+                .courseNumber(course.getCourseNumber())
+                .courseName(course.getCourseName())
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    public void publishDeleted(CourseResponseModel course) {
+        publish(CourseChangeEvent.builder()
+                .changeType(CourseChangeEvent.ChangeType.DELETED)
+                .courseId(course.getCourseId())
+                .courseNumber(course.getCourseNumber())
+                .courseName(course.getCourseName())
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    public Flux<CourseChangeEvent> changes() {
+        return sink.asFlux()
+                .onBackpressureBuffer(BUFFER_SIZE,
+                        dropped -> log.warn("Course change feed subscriber too slow, dropped change of {}", dropped.getCourseId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private void publish(CourseChangeEvent event) {
+        //updates may run concurrently on different threads, retry briefly instead of failing on contention
+        sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+}
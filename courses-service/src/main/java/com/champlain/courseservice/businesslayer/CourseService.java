@@ -1,16 +1,27 @@
 package com.champlain.courseservice.businesslayer;
 
+import com.champlain.courseservice.presentationlayer.CourseChangeEvent;
 import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface CourseService {
 
     Flux<CourseResponseModel> getAllCourses();
 
     Mono<CourseResponseModel> getCourseByCourseId(String courseId);
 
+    Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds);
+
+    //same lookups reading only the given fields (see CourseResponseModel.FIELDS)
+    Mono<CourseResponseModel> getCourseByCourseId(String courseId, Set<String> fields);
+
+    Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds, Set<String> fields);
+
     Mono<CourseResponseModel> addCourse(Mono<CourseRequestModel> course);
     Mono<CourseResponseModel> updateCourseByCourseId(Mono<CourseRequestModel>
                                                              courseRequestModel, String courseId);
@@ -19,4 +30,6 @@ public interface CourseService {
 
 
     Mono<CourseResponseModel> updateCourse(Mono<CourseRequestModel> courseRequestModel, String courseId);
+
+    Flux<CourseChangeEvent> getCourseChanges();
 }
@@ -1,6 +1,7 @@
 package com.champlain.courseservice.businesslayer;
 
 import com.champlain.courseservice.dataaccesslayer.CourseRepository;
+import com.champlain.courseservice.presentationlayer.CourseChangeEvent;
 import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
 import com.champlain.courseservice.utils.EntityModelUtil;
@@ -12,15 +13,19 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.Serial;
+import java.util.Collection;
+import java.util.Set;
 
 @Service
 @Slf4j
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
+    private final CourseChangePublisher courseChangePublisher;
 
-    public CourseServiceImpl(CourseRepository courseRepository) {
+    public CourseServiceImpl(CourseRepository courseRepository, CourseChangePublisher courseChangePublisher) {
         this.courseRepository = courseRepository;
+        this.courseChangePublisher = courseChangePublisher;
     }
 
     @Override
@@ -40,6 +45,41 @@ public class CourseServiceImpl implements CourseService {
                 .log();
     }
 
+    /**
+     * Reads all the requested courses with a single query. Unknown ids are skipped.
+     * @param courseIds
+     * @return the courses that exist
+     */
+    @Override
+    public Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds) {
+        return courseRepository.findAllByCourseIdIn(courseIds)
+                .map(EntityModelUtil::toCourseResponseModel);
+    }
+
+    /**
+     * Projection version of getCourseByCourseId, only the columns of the given fields are read.
+     * @param courseId
+     * @param fields
+     * @return the course, with only those fields set
+     */
+    @Override
+    public Mono<CourseResponseModel> getCourseByCourseId(String courseId, Set<String> fields) {
+        return courseRepository.findProjectedByCourseId(courseId, fields)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Course id not found " + courseId))))
+                .map(EntityModelUtil::toCourseResponseModel);
+    }
+
+    /**
+     * Projection version of getCoursesByCourseIds, only the columns of the given fields are read.
+     * @param courseIds
+     * @param fields
+     * @return the courses that exist, with only those fields set
+     */
+    @Override
+    public Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds, Set<String> fields) {
+        return courseRepository.findAllProjectedByCourseIdIn(courseIds, fields)
+                .map(EntityModelUtil::toCourseResponseModel);
+    }
 
     /**
      * Controller method. Creates a course into the database
@@ -78,7 +118,9 @@ public class CourseServiceImpl implements CourseService {
                         .doOnNext(e -> e.setId(s.getId())) )
                 .flatMap(courseRepository::save) //save the new Course Entity
                 //convert the new Entity (returned by the db) to a CourseResponseModel
-                .map(EntityModelUtil::toCourseResponseModel);
+                .map(EntityModelUtil::toCourseResponseModel)
+                //let the subscribers of the change feed know, once the row is saved
+                .doOnNext(courseChangePublisher::publishUpdated);
     }
 
     /**
@@ -91,7 +133,8 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findCourseByCourseId(courseId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Course id not found: " + courseId))))
                 .flatMap(existingCourse -> courseRepository.delete(existingCourse).then(Mono.just(existingCourse)))
-                .map(EntityModelUtil::toCourseResponseModel);
+                .map(EntityModelUtil::toCourseResponseModel)
+                .doOnNext(courseChangePublisher::publishDeleted);
     }
 
 
@@ -106,7 +149,17 @@ public class CourseServiceImpl implements CourseService {
                         .doOnNext(e -> e.setId(s.getId()))
                 )
                 .flatMap(courseRepository::save)
-                .map(EntityModelUtil::toCourseResponseModel);
+                .map(EntityModelUtil::toCourseResponseModel)
+                .doOnNext(courseChangePublisher::publishUpdated);
+    }
+
+    /**
+     * Live feed of the courses updated or deleted from now on.
+     * @return the change events, never completes
+     */
+    @Override
+    public Flux<CourseChangeEvent> getCourseChanges() {
+        return courseChangePublisher.changes();
     }
 
 }
@@ -1,9 +1,14 @@
 package com.champlain.courseservice.dataaccesslayer;
 
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface CourseRepository extends ReactiveCrudRepository<Course, Integer> {
+import java.util.Collection;
+
+public interface CourseRepository extends ReactiveCrudRepository<Course, Integer>, CourseRepositoryCustom {
 
     Mono<Course> findCourseByCourseId(String courseId);
+
+    Flux<Course> findAllByCourseIdIn(Collection<String> courseIds);
 }
@@ -0,0 +1,18 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface CourseRepositoryCustom {
+
+    /*
+       Projection lookups: the SELECT only lists the columns of the given properties of Course, the other
+       properties of the courses emitted are null.
+     */
+    Mono<Course> findProjectedByCourseId(String courseId, Set<String> fields);
+
+    Flux<Course> findAllProjectedByCourseIdIn(Collection<String> courseIds, Set<String> fields);
+}
@@ -0,0 +1,36 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    public CourseRepositoryCustomImpl(R2dbcEntityTemplate entityTemplate) {
+        this.entityTemplate = entityTemplate;
+    }
+
+    @Override
+    public Mono<Course> findProjectedByCourseId(String courseId, Set<String> fields) {
+        return findProjected(Criteria.where("courseId").is(courseId), fields).next();
+    }
+
+    @Override
+    public Flux<Course> findAllProjectedByCourseIdIn(Collection<String> courseIds, Set<String> fields) {
+        return findProjected(Criteria.where("courseId").in(courseIds), fields);
+    }
+
+    //the property names are mapped to their columns
+    private Flux<Course> findProjected(Criteria criteria, Set<String> fields) {
+        return entityTemplate.select(Course.class)
+                .matching(Query.query(criteria).columns(fields))
+                .all();
+    }
+}
@@ -0,0 +1,18 @@
+package com.champlain.courseservice.datamapperlayer;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.presentationlayer.CourseRequestModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface CourseRequestMapper {
+
+    CourseRequestMapper INSTANCE = Mappers.getMapper(CourseRequestMapper.class);
+
+    //the database id and the courseId are set by the service
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "courseId", ignore = true)
+    Course requestModelToEntity(CourseRequestModel courseRequestModel);
+}
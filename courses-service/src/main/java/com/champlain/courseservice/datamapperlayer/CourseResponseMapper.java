@@ -0,0 +1,16 @@
+package com.champlain.courseservice.datamapperlayer;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.presentationlayer.CourseResponseModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+//generated at compile time, plain getter/setter calls instead of the reflective BeanUtils.copyProperties
+@Mapper
+public interface CourseResponseMapper {
+
+    //the services map through the static EntityModelUtil methods, which use this instance
+    CourseResponseMapper INSTANCE = Mappers.getMapper(CourseResponseMapper.class);
+
+    CourseResponseModel entityToResponseModel(Course course);
+}
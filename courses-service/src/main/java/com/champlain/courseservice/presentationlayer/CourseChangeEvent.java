@@ -0,0 +1,26 @@
+package com.champlain.courseservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseChangeEvent {
+
+    public enum ChangeType {
+        UPDATED,
+        DELETED
+    }
+
+    private ChangeType changeType;
+    private String courseId;
+    private String courseNumber;
+    private String courseName;
+    private Instant changedAt;
+}
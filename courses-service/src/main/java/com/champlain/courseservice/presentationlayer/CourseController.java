@@ -1,8 +1,11 @@
 package com.champlain.courseservice.presentationlayer;
 
 import com.champlain.courseservice.businesslayer.CourseService;
+import com.champlain.courseservice.utils.EntityTags;
+import com.champlain.courseservice.utils.FieldSelection;
 import com.champlain.courseservice.utils.exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +14,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.print.attribute.standard.Media;
+import java.util.List;
+import java.util.Set;
 
 
 @RestController
@@ -18,6 +23,9 @@ import javax.print.attribute.standard.Media;
 @RequestMapping("api/v1/courses")
 public class CourseController {
 
+    //binary Jackson encoding enrollments-service asks for, smaller and cheaper to parse than JSON text
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final CourseService courseService;
 
     public CourseController(CourseService courseService) {
@@ -29,13 +37,63 @@ public class CourseController {
         return courseService.getAllCourses();
     }
 
-    @GetMapping(value="/{courseId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Mono<ResponseEntity<CourseResponseModel>> getCourseByCourseId(@PathVariable("courseId") String courseId) {
+    /**
+     * Batch read, e.g. ?courseIds=id1,id2,id3. Returns the courses that exist as a JSON array,
+     * or as a Smile array when the client accepts application/x-jackson-smile.
+     * The courses are collected first: the encoders write a Flux as an array by joining JSON text, which is not valid Smile.
+     * With fields, e.g. fields=courseNumber,courseName, only those fields (and courseId) are read and returned.
+     * @param courseIds
+     * @param fields
+     * @return
+     */
+    @GetMapping(value="", params = "courseIds", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<List<CourseResponseModel>> getCoursesByCourseIds(@RequestParam List<String> courseIds,
+                                                                 @RequestParam(required = false) List<String> fields) {
+        return Mono.just(courseIds)
+                .filter(ids -> ids.stream().allMatch(id -> id.length() == 36)) //validate every courseId
+                .switchIfEmpty(Mono.error(new InvalidInputException("Provided courseIds are invalid " + courseIds)))
+                .flatMapMany(ids -> {
+                    Set<String> selection = selection(fields);
+                    return selection == null
+                            ? courseService.getCoursesByCourseIds(ids)
+                            : courseService.getCoursesByCourseIds(ids, selection);
+                })
+                .collectList();
+    }
+
+    /**
+     * Server-sent events for every course updated or deleted after the client connected.
+     * Used by enrollments-service to keep the course fields it stores up to date.
+     * @return
+     */
+    @GetMapping(value="/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<CourseChangeEvent> getCourseChanges() {
+        return courseService.getCourseChanges();
+    }
+
+    /**
+     * With fields, e.g. fields=courseNumber,courseName, only those fields (and courseId) are read and returned.
+     * The course comes with an ETag, a request with the same one in If-None-Match gets a 304 without body.
+     * @param courseId
+     * @param fields
+     * @return
+     */
+    @GetMapping(value="/{courseId}", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<CourseResponseModel>> getCourseByCourseId(@PathVariable("courseId") String courseId,
+                                                                         @RequestParam(required = false) List<String> fields) {
         return Mono.just(courseId)
                 .filter(id -> id.length() == 36) //validate the courseId
                 .switchIfEmpty(Mono.error(new InvalidInputException("Provided courseId is invalid " + courseId)))
-                .flatMap(courseService::getCourseByCourseId)
-                .map(ResponseEntity::ok);
+                .flatMap(id -> {
+                    Set<String> selection = selection(fields);
+                    return selection == null
+                            ? courseService.getCourseByCourseId(id)
+                            : courseService.getCourseByCourseId(id, selection);
+                })
+                .map(course -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(course))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(course));
     }
 
     /**
@@ -75,4 +133,8 @@ public class CourseController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
+
+    private static Set<String> selection(List<String> fields) {
+        return FieldSelection.parse(fields, CourseResponseModel.FIELDS, "courseId");
+    }
 }
@@ -0,0 +1,81 @@
+package com.champlain.courseservice.presentationlayer;
+
+import com.champlain.courseservice.businesslayer.CourseService;
+import com.champlain.courseservice.utils.exceptions.InvalidInputException;
+import com.champlain.courseservice.utils.exceptions.NotFoundException;
+import io.rsocket.exceptions.CustomRSocketException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocket routes for enrollments-service, next to the HTTP ones of CourseController.
+ * NotFound and InvalidInput are sent as custom RSocket errors with the codes below, the equivalent of 404 and 422.
+ */
+@Controller
+public class CourseRSocketController {
+
+    public static final int NOT_FOUND_ERROR_CODE = 0x404;
+    public static final int INVALID_INPUT_ERROR_CODE = 0x422;
+
+    private static final int BATCH_SIZE = 100;
+
+    private final CourseService courseService;
+
+    public CourseRSocketController(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    /**
+     * Request-response lookup of a single course.
+     * @param courseId
+     * @return
+     */
+    @MessageMapping("courses.{courseId}")
+    public Mono<CourseResponseModel> getCourseByCourseId(@DestinationVariable String courseId) {
+        return Mono.just(courseId)
+                .filter(id -> id.length() == 36) //validate the courseId
+                .switchIfEmpty(Mono.error(new InvalidInputException("Provided courseId is invalid " + courseId)))
+                .flatMap(courseService::getCourseByCourseId);
+    }
+
+    /**
+     * Request-channel: the requester streams courseIds and receives the courses that exist, unknown ids are skipped.
+     * Ids are read in batches of BATCH_SIZE, one query each, and only as fast as the requester consumes the courses.
+     * @param courseIds
+     * @return
+     */
+    @MessageMapping("courses.batch")
+    public Flux<CourseResponseModel> getCoursesByCourseIds(Flux<String> courseIds) {
+        return courseIds
+                .doOnNext(id -> {
+                    if (id.length() != 36) { //validate every courseId
+                        throw new InvalidInputException("Provided courseId is invalid " + id);
+                    }
+                })
+                .buffer(BATCH_SIZE)
+                .concatMap(courseService::getCoursesByCourseIds);
+    }
+
+    /**
+     * Request-stream of every course.
+     * @return
+     */
+    @MessageMapping("courses")
+    public Flux<CourseResponseModel> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @MessageExceptionHandler(NotFoundException.class)
+    public Mono<Void> handleNotFoundException(NotFoundException ex) {
+        return Mono.error(new CustomRSocketException(NOT_FOUND_ERROR_CODE, ex.getMessage()));
+    }
+
+    @MessageExceptionHandler(InvalidInputException.class)
+    public Mono<Void> handleInvalidInputException(InvalidInputException ex) {
+        return Mono.error(new CustomRSocketException(INVALID_INPUT_ERROR_CODE, ex.getMessage()));
+    }
+}
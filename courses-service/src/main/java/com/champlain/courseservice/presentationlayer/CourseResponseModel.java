@@ -1,16 +1,24 @@
 package com.champlain.courseservice.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Set;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+//fields left out by a fields= selection are not written at all
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CourseResponseModel {
 
+    //what fields= can select, courseId is always returned
+    public static final Set<String> FIELDS = Set.of("courseId", "courseNumber", "courseName", "numHours", "numCredits", "department");
+
     private String courseId;
     private String courseNumber;
     private String courseName;
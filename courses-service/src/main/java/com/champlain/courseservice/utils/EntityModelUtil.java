@@ -1,18 +1,15 @@
 package com.champlain.courseservice.utils;
 
 import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.datamapperlayer.CourseRequestMapper;
+import com.champlain.courseservice.datamapperlayer.CourseResponseMapper;
 import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
-import org.springframework.beans.BeanUtils;
-
-import java.util.UUID;
 
 public class EntityModelUtil {
 
     public static CourseResponseModel toCourseResponseModel(Course course) {
-        CourseResponseModel courseResponseModel = new CourseResponseModel();
-        BeanUtils.copyProperties(course, courseResponseModel);
-        return courseResponseModel;
+        return CourseResponseMapper.INSTANCE.entityToResponseModel(course);
     }
 
     /**
@@ -21,12 +18,11 @@ public class EntityModelUtil {
      * @return Course
      */
     public static Course toCourseEntity(CourseRequestModel courseRequestModel) {
-        Course course = new Course();
-        BeanUtils.copyProperties(courseRequestModel, course);
-        return course;
+        return CourseRequestMapper.INSTANCE.requestModelToEntity(courseRequestModel);
     }
 
+    //time-ordered, so new rows are appended to the id index instead of scattered over it
     public static String generateUUIDString() {
-        return UUID.randomUUID().toString();
+        return TimeOrderedIds.next();
     }
 }
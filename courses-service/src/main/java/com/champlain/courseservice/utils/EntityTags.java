@@ -0,0 +1,16 @@
+package com.champlain.courseservice.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+//weak ETags for the GET by id endpoints, answered with 304 Not Modified when the client sends the same one in If-None-Match.
+//The JSON and Smile bodies of a model get the same tag, which only a weak tag may do since they are not byte for byte equal
+public class EntityTags {
+
+    //the response models are Lombok @Data classes whose toString lists every field, so the tag changes exactly when
+    //one of the values does, without serializing the body to hash it
+    public static String of(Object responseModel) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(responseModel.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,43 @@
+package com.champlain.courseservice.buisnesslayer;
+
+import com.champlain.courseservice.businesslayer.CourseChangePublisher;
+import com.champlain.courseservice.presentationlayer.CourseChangeEvent;
+import com.champlain.courseservice.presentationlayer.CourseResponseModel;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.stream.IntStream;
+
+class CourseChangePublisherUnitTest {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final CourseChangePublisher publisher = new CourseChangePublisher();
+
+    @Test
+    void whenSubscriberFallsBehind_thenOldestChangesDroppedAndFeedStaysOpen() {
+        int published = BUFFER_SIZE + 100;
+
+        //the subscriber does not request anything while the changes are published
+        StepVerifier.create(publisher.changes(), 0)
+                .then(() -> IntStream.range(0, published).forEach(this::publishUpdate))
+                .thenRequest(Long.MAX_VALUE)
+                //the first 100 were dropped, the buffer holds the most recent ones
+                .expectNextMatches(event -> event.getCourseId().equals("course-100"))
+                .expectNextCount(BUFFER_SIZE - 1)
+                //still subscribed: a later change is delivered
+                .then(() -> publishUpdate(published))
+                .expectNextMatches(event -> event.getCourseId().equals("course-" + published)
+                        && event.getChangeType() == CourseChangeEvent.ChangeType.UPDATED)
+                .thenCancel()
+                .verify();
+    }
+
+    private void publishUpdate(int i) {
+        publisher.publishUpdated(CourseResponseModel.builder()
+                .courseId("course-" + i)
+                .courseNumber("cat-" + i)
+                .courseName("Web Services")
+                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.champlain.courseservice.buisnesslayer;
 
+import com.champlain.courseservice.businesslayer.CourseChangePublisher;
 import com.champlain.courseservice.businesslayer.CourseService;
 import com.champlain.courseservice.businesslayer.CourseServiceImpl;
 import com.champlain.courseservice.dataaccesslayer.Course;
@@ -33,6 +34,8 @@ class CourseServiceUnitTest {
     private CourseServiceImpl courseService;
     @Mock
     private CourseRepository courseRepository;
+    @Mock
+    private CourseChangePublisher courseChangePublisher;
     Course course1 = Course.builder()
             .id(1)
             .courseId(UUID.randomUUID().toString())
@@ -133,6 +136,7 @@ class CourseServiceUnitTest {
                     return true;
                 })
                 .verifyComplete();
+        Mockito.verify(courseChangePublisher).publishUpdated(any(CourseResponseModel.class));
     }
     @Test
     void updateCourseByCourseId_withNonExistingCourseId_thenThrowNotFoundException(){
@@ -155,6 +159,7 @@ class CourseServiceUnitTest {
         StepVerifier.create(result)
                 .expectErrorMessage("Course id not found: " + courseId)
                 .verify();
+        Mockito.verifyNoInteractions(courseChangePublisher);
     }
     @Test
     void deleteCourseByCourseId_withExistingCourseId_ReturnsDeletedCourseId(){
@@ -174,6 +179,7 @@ class CourseServiceUnitTest {
                     return true;
                 })
                 .verifyComplete();
+        Mockito.verify(courseChangePublisher).publishDeleted(any(CourseResponseModel.class));
     }
     @Test
     void deleteCourseByCourseId_withNonExistingCourseId_thenThrowNotFoundException(){
@@ -189,6 +195,7 @@ class CourseServiceUnitTest {
         StepVerifier.create(result)
                 .expectErrorMessage("Course id not found: " + courseId)
                 .verify();
+        Mockito.verifyNoInteractions(courseChangePublisher);
     }
 
 
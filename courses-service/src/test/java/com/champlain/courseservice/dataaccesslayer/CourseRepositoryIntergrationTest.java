@@ -16,10 +16,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -67,12 +71,77 @@ public class CourseRepositoryIntergrationTest {
                 .verifyComplete();
     }
 
+    @Test
+    void findProjectedByCourseId_shouldOnlyReadRequestedFields() {
+        //arrange
+        String courseId = UUID.randomUUID().toString();
+        Course course = Course.builder()
+                .courseId(courseId)
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        StepVerifier
+                .create(courseRepository.save(course))
+                .expectNextCount(1)
+                .verifyComplete();
+        //act and assert
+        StepVerifier
+                .create(courseRepository.findProjectedByCourseId(courseId, Set.of("courseId", "courseName")))
+                .consumeNextWith(foundCourse -> {
+                    assertEquals(courseId, foundCourse.getCourseId());
+                    assertEquals("Web Services", foundCourse.getCourseName());
+                    assertNull(foundCourse.getId());
+                    assertNull(foundCourse.getCourseNumber());
+                    assertNull(foundCourse.getNumHours());
+                    assertNull(foundCourse.getDepartment());
+                })
+                .verifyComplete();
+    }
 
-
-
-
-
-
-
-
+    @Test
+    void findAllByCourseIdIn_shouldReturnOnlyRequestedCourses() {
+        //arrange
+        Course course1 = Course.builder()
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        Course course2 = Course.builder()
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-421")
+                .courseName("Advanced Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        Course course3 = Course.builder()
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-422")
+                .courseName("Web Services Security")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        StepVerifier
+                .create(courseRepository.saveAll(List.of(course1, course2, course3)))
+                .expectNextCount(3)
+                .verifyComplete();
+        //act and assert
+        StepVerifier
+                .create(courseRepository
+                        .findAllByCourseIdIn(List.of(course1.getCourseId(), course3.getCourseId()))
+                        .map(Course::getCourseId)
+                        .collectList())
+                .consumeNextWith(courseIds -> {
+                    assertEquals(2, courseIds.size());
+                    assertTrue(courseIds.containsAll(List.of(course1.getCourseId(), course3.getCourseId())));
+                })
+                .verifyComplete();
+    }
 }
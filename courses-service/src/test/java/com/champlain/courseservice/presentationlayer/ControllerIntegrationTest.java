@@ -122,6 +122,142 @@ class CourseControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void getCourseByCourseId_shouldAnswerWithSmile_WhenAccepted() {
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/" + validCourseId)
+                .accept(MediaType.parseMediaType(CourseController.APPLICATION_SMILE_VALUE), MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CourseController.APPLICATION_SMILE_VALUE)
+                .expectBody(CourseResponseModel.class)
+                .value(courseResponseModel -> assertEquals(validCourseId, courseResponseModel.getCourseId()));
+    }
+
+    @Test
+    void getCoursesByCourseIds_shouldAnswerWithSmile_WhenAccepted() {
+        String otherValidCourseId = "8d764f78-8468-4769-b643-10cde392fbde";
+        webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/courses")
+                        .queryParam("courseIds", validCourseId + "," + otherValidCourseId)
+                        .build())
+                .accept(MediaType.parseMediaType(CourseController.APPLICATION_SMILE_VALUE), MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CourseController.APPLICATION_SMILE_VALUE)
+                .expectBodyList(CourseResponseModel.class)
+                .value(list -> assertEquals(2, list.size()));
+    }
+
+    @Test
+    void getCoursesByCourseIds_shouldReturnOnlyExistingCourses() {
+        String otherValidCourseId = "8d764f78-8468-4769-b643-10cde392fbde";
+        webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/courses")
+                        .queryParam("courseIds", validCourseId + "," + otherValidCourseId + ",77918ba2-49da-4c67-bea8-111111111111")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(CourseResponseModel.class)
+                .value(list -> {
+                    assertNotNull(list);
+                    assertEquals(2, list.size());
+                    assertTrue(list.stream().anyMatch(c -> c.getCourseId().equals(validCourseId)));
+                    assertTrue(list.stream().anyMatch(c -> c.getCourseId().equals(otherValidCourseId)));
+                });
+    }
+
+    @Test
+    void getCourseByCourseId_withFields_shouldOnlyReturnThoseFields() {
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/" + validCourseId + "?fields=courseNumber,courseName")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CourseResponseModel.class)
+                .value(list -> {
+                    assertEquals(1, list.size());
+                    assertEquals(validCourseId, list.get(0).getCourseId());
+                    assertNotNull(list.get(0).getCourseNumber());
+                    assertNotNull(list.get(0).getCourseName());
+                    assertNull(list.get(0).getNumHours());
+                    assertNull(list.get(0).getNumCredits());
+                    assertNull(list.get(0).getDepartment());
+                });
+    }
+
+    @Test
+    void getCoursesByCourseIds_withFields_shouldOnlyReturnThoseFields() {
+        String otherValidCourseId = "8d764f78-8468-4769-b643-10cde392fbde";
+        webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/courses")
+                        .queryParam("courseIds", validCourseId + "," + otherValidCourseId)
+                        .queryParam("fields", "courseName")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].courseId").exists()
+                .jsonPath("$[0].courseName").exists()
+                .jsonPath("$[0].courseNumber").doesNotExist()
+                .jsonPath("$[0].department").doesNotExist();
+    }
+
+    @Test
+    void getCourseByCourseId_withSameETag_shouldReturnNotModified() {
+        String eTag = webTestClient
+                .get()
+                .uri("/api/v1/courses/" + validCourseId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .returnResult(CourseResponseModel.class)
+                .getResponseHeaders().getETag();
+        //the Smile body of the course gets the same tag, so it has to be weak
+        assertTrue(eTag.startsWith("W/"));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/" + validCourseId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getCourseByCourseId_withUnknownField_shouldReturnUnProcessableEntity() {
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/" + validCourseId + "?fields=courseName,teacher")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void getCoursesByCourseIds_shouldReturnUnProcessableEntity_WithInvalidId() {
+        webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/courses")
+                        .queryParam("courseIds", validCourseId + ",77918ba2-49da-4c67-bea8-111")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
     @Test
     void getCourseByCourseId_shouldReturnNotFound_WithNonExistingId() {
         webTestClient
@@ -0,0 +1,91 @@
+package com.champlain.courseservice.presentationlayer;
+
+import io.rsocket.exceptions.CustomRSocketException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseRSocketControllerIntegrationTest {
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    private RSocketRequester requester;
+    private final String validCourseId = "77918ba2-49da-4c67-bea8-9f26e5d355fb";
+
+    @BeforeEach
+    void connect() {
+        requester = requesterBuilder.tcp("localhost", rsocketPort);
+    }
+
+    @AfterEach
+    void disconnect() {
+        requester.dispose();
+    }
+
+    @Test
+    void getCourseByCourseId_shouldSucceedWithExistingId() {
+        StepVerifier.create(requester.route("courses.{courseId}", validCourseId)
+                        .retrieveMono(CourseResponseModel.class))
+                .consumeNextWith(course -> assertEquals(validCourseId, course.getCourseId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getCourseByCourseId_shouldReturnNotFoundError_WithNonExistingId() {
+        StepVerifier.create(requester.route("courses.{courseId}", "77918ba2-49da-4c67-bea8-111111111111")
+                        .retrieveMono(CourseResponseModel.class))
+                .expectErrorMatches(error -> error instanceof CustomRSocketException customError
+                        && customError.errorCode() == CourseRSocketController.NOT_FOUND_ERROR_CODE)
+                .verify();
+    }
+
+    @Test
+    void getCourseByCourseId_shouldReturnInvalidInputError_WithInvalidId() {
+        StepVerifier.create(requester.route("courses.{courseId}", "77918ba2")
+                        .retrieveMono(CourseResponseModel.class))
+                .expectErrorMatches(error -> error instanceof CustomRSocketException customError
+                        && customError.errorCode() == CourseRSocketController.INVALID_INPUT_ERROR_CODE)
+                .verify();
+    }
+
+    @Test
+    void getCoursesByCourseIds_shouldStreamOnlyExistingCourses() {
+        String otherValidCourseId = "8d764f78-8468-4769-b643-10cde392fbde";
+        StepVerifier.create(requester.route("courses.batch")
+                        .data(Flux.just(validCourseId, otherValidCourseId, "77918ba2-49da-4c67-bea8-111111111111"))
+                        .retrieveFlux(CourseResponseModel.class)
+                        .map(CourseResponseModel::getCourseId)
+                        .collectList())
+                .consumeNextWith(courseIds -> {
+                    assertEquals(2, courseIds.size());
+                    assertTrue(courseIds.containsAll(List.of(validCourseId, otherValidCourseId)));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllCourses_shouldStreamOnlyRequestedAmount() {
+        StepVerifier.create(requester.route("courses")
+                        .retrieveFlux(CourseResponseModel.class), 5)
+                .expectNextCount(5)
+                .thenCancel()
+                .verify();
+    }
+}
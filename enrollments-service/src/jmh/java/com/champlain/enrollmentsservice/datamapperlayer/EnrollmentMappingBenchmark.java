@@ -0,0 +1,60 @@
+package com.champlain.enrollmentsservice.datamapperlayer;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+   Time to map one enrollment to its response model (done for every row of the list responses), the
+   BeanUtils.copyProperties the service used before against the generated MapStruct mapper.
+   Run with -Pjmh.includes=EnrollmentMapping, the gc profiler the jmh task runs with reports the bytes allocated
+   per mapping (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnrollmentMappingBenchmark {
+
+    @Param({"reflective", "generated"})
+    public String mapping;
+
+    private Enrollment enrollment;
+
+    @Setup
+    public void setUp() {
+        enrollment = Enrollment.builder()
+                .id(UUID.randomUUID().toString())
+                .enrollmentId(UUID.randomUUID().toString())
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .studentId(UUID.randomUUID().toString())
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .build();
+    }
+
+    @Benchmark
+    public EnrollmentResponseModel toResponseModel() {
+        if (mapping.equals("generated")) {
+            return EnrollmentResponseMapper.INSTANCE.entityToResponseModel(enrollment);
+        }
+        EnrollmentResponseModel enrollmentResponseModel = new EnrollmentResponseModel();
+        BeanUtils.copyProperties(enrollment, enrollmentResponseModel);
+        return enrollmentResponseModel;
+    }
+}
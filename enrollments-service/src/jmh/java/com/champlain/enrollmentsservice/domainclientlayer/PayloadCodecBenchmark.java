@@ -0,0 +1,96 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentResponseModel;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+   Cost of the payloads exchanged with students-service and courses-service, JSON text against Smile.
+   A batch of 1 is a single lookup, larger batches are the ?studentIds= / ?courseIds= responses.
+   The encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadCodecBenchmark {
+
+    private static final TypeReference<List<StudentResponseModel>> STUDENTS = new TypeReference<>() {};
+    private static final TypeReference<List<CourseResponseModel>> COURSES = new TypeReference<>() {};
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private ObjectMapper mapper;
+    private List<StudentResponseModel> students;
+    private List<CourseResponseModel> courses;
+    private byte[] encodedStudents;
+    private byte[] encodedCourses;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = format.equals("smile") ? new SmileMapper() : new ObjectMapper();
+        students = IntStream.range(0, batchSize)
+                .mapToObj(i -> StudentResponseModel.builder()
+                        .studentId(UUID.randomUUID().toString())
+                        .firstName("Donna" + i)
+                        .lastName("Hornsby" + i)
+                        .program("Computer Science")
+                        .stuff("stuff")
+                        .build())
+                .toList();
+        courses = IntStream.range(0, batchSize)
+                .mapToObj(i -> CourseResponseModel.builder()
+                        .courseId(UUID.randomUUID().toString())
+                        .courseNumber("cat-" + (400 + i))
+                        .courseName("Web Services")
+                        .numHours(45)
+                        .numCredits(3.0)
+                        .department("Computer Science")
+                        .build())
+                .toList();
+        encodedStudents = mapper.writeValueAsBytes(students);
+        encodedCourses = mapper.writeValueAsBytes(courses);
+
+        System.out.printf("%n%s, batch of %d: students %d bytes, courses %d bytes%n",
+                format, batchSize, encodedStudents.length, encodedCourses.length);
+    }
+
+    @Benchmark
+    public byte[] encodeStudents() throws IOException {
+        return mapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> decodeStudents() throws IOException {
+        return mapper.readValue(encodedStudents, STUDENTS);
+    }
+
+    @Benchmark
+    public byte[] encodeCourses() throws IOException {
+        return mapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public List<CourseResponseModel> decodeCourses() throws IOException {
+        return mapper.readValue(encodedCourses, COURSES);
+    }
+}
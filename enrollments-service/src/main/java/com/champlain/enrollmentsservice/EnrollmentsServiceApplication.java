@@ -1,9 +1,15 @@
 package com.champlain.enrollmentsservice;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @SpringBootApplication
 public class EnrollmentsServiceApplication {
@@ -18,4 +24,40 @@ public class EnrollmentsServiceApplication {
 		return new RestTemplate();
 	}
 
+	/*
+	   One connection pool for every call to students-service and courses-service. Reactor Netty keeps a
+	   separate pool per remote host, so max-connections and the pending-acquire queue are limits per host.
+	   With metrics on, active/idle/pending connections and the acquire time are published as the
+	   reactor.netty.connection.provider.* meters.
+	 */
+	@Bean(destroyMethod = "dispose")
+	ConnectionProvider downstreamConnectionProvider(@Value("${app.http-client.pool.max-connections:50}") int maxConnections,
+													@Value("${app.http-client.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+													@Value("${app.http-client.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+													@Value("${app.http-client.pool.max-idle-time:30s}") Duration maxIdleTime,
+													@Value("${app.http-client.pool.max-life-time:5m}") Duration maxLifeTime,
+													@Value("${app.http-client.pool.evict-in-background:30s}") Duration evictInBackground) {
+		return ConnectionProvider.builder("downstream")
+				.maxConnections(maxConnections)
+				.pendingAcquireMaxCount(pendingAcquireMaxCount)
+				.pendingAcquireTimeout(pendingAcquireTimeout)
+				.maxIdleTime(maxIdleTime)
+				.maxLifeTime(maxLifeTime)
+				.evictInBackground(evictInBackground)
+				.metrics(true)
+				.build();
+	}
+
+	/*
+	   Base HttpClient of the downstream WebClients, each client adds its own timeouts on top.
+	   With app.http-client.h2c the calls use HTTP/2 over cleartext (prior knowledge), so concurrent requests
+	   are multiplexed over a few connections; the services must then run with server.http2.enabled (h2c profile).
+	 */
+	@Bean
+	HttpClient downstreamHttpClient(ConnectionProvider downstreamConnectionProvider,
+									@Value("${app.http-client.h2c:false}") boolean h2c) {
+		return HttpClient.create(downstreamConnectionProvider)
+				.protocol(h2c ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+	}
+
 }
@@ -0,0 +1,77 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseChangeEvent;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/*
+   Keeps the course number and name stored on the enrollments in line with courses-service.
+
+   Listens to the courses-service change feed and applies every UPDATED event as a single multi-document
+   update on courseId. A DELETED course is only logged, its enrollments keep the last known snapshot.
+   The feed is reconnected with a backoff when courses-service goes away; changes made while disconnected
+   are not replayed, those enrollments are corrected by the next live read or the next change of the course.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.courses-service.change-feed.enabled", havingValue = "true")
+public class CourseChangeSubscriber {
+
+    private final CourseClient courseClient;
+    private final EnrollmentRepository enrollmentRepository;
+
+    private Disposable subscription;
+
+    public CourseChangeSubscriber(CourseClient courseClient, EnrollmentRepository enrollmentRepository) {
+        this.courseClient = courseClient;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = courseClient.getCourseChanges()
+                .doOnSubscribe(s -> log.info("Subscribed to the courses-service change feed"))
+                .concatMap(this::applyChange)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Course change feed failed, reconnecting: {}", signal.failure().toString())))
+                //the feed completes when courses-service closes the connection, reconnect as well
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<Long> applyChange(CourseChangeEvent change) {
+        courseClient.evictCourse(change.getCourseId());
+
+        if (change.getChangeType() == CourseChangeEvent.ChangeType.DELETED) {
+            log.info("Course {} was deleted, its enrollments keep their stored course details", change.getCourseId());
+            return Mono.just(0L);
+        }
+
+        return enrollmentRepository.updateCourseDetailsByCourseId(change.getCourseId(), change.getCourseNumber(), change.getCourseName())
+                .doOnNext(modified -> log.debug("Course {} changed, updated {} enrollments", change.getCourseId(), modified))
+                //a failed write must not end the subscription, the next change of the course corrects it
+                .onErrorResume(e -> {
+                    log.error("Could not apply the change of course {}", change.getCourseId(), e);
+                    return Mono.just(0L);
+                });
+    }
+}
@@ -0,0 +1,37 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+   Opaque resume token for the paged enrollment listing. It wraps the Mongo _id of the last enrollment a
+   client received; clients only hand it back as the after parameter (or the Last-Event-ID header).
+ */
+public final class EnrollmentCursor {
+
+    private EnrollmentCursor() {
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //null stays null (first page), anything that was not produced by encode is rejected
+    public static String decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (ObjectId.isValid(id)) {
+                return id;
+            }
+        } catch (IllegalArgumentException e) {
+            //not base64, rejected below
+        }
+        throw new InvalidInputException("Invalid cursor: " + cursor);
+    }
+}
@@ -1,15 +1,24 @@
 package com.champlain.enrollmentsservice.businesslayer.enrollments;
 
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResult;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 public interface EnrollmentService {
 
     Flux<EnrollmentResponseModel> getAllEnrollments();
+    Flux<EnrollmentResponseModel> getAllEnrollments(ReadConsistency consistency);
+    //enrollments matching filter ordered by _id after the given cursor, each paired with the cursor that resumes right after it
+    Flux<Tuple2<String, EnrollmentResponseModel>> getEnrollmentsPage(EnrollmentFilter filter, String after, Integer limit, ReadConsistency consistency);
     Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId);
+    Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId, ReadConsistency consistency);
     Mono<EnrollmentResponseModel> addEnrollment(Mono<EnrollmentRequestModel> enrollmentRequestModel);
+    //one result per request in the same order, validated and inserted by windows, then a COMPLETED summary
+    Flux<EnrollmentImportResult> importEnrollments(Flux<EnrollmentRequestModel> enrollmentRequestModels);
     Mono<EnrollmentResponseModel> updateEnrollmentByEnrollmentId(Mono<EnrollmentRequestModel> enrollmentRequestModelMono, String enrollmentId);
     Mono<EnrollmentResponseModel> deleteEnrollmentByEnrollmentId(String enrollmentId);
 }
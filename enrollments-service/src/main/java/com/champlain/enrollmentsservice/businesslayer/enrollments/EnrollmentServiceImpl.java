@@ -1,17 +1,34 @@
 package com.champlain.enrollmentsservice.businesslayer.enrollments;
 
 import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
 import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentWriteCoalescer;
 import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseClient;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseResponseModel;
 import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentClientAsynchronous;
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentResponseModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResult;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
 import com.champlain.enrollmentsservice.utils.EntityModelUtil;
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -20,53 +37,87 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     final private StudentClientAsynchronous studentClient;
     final private CourseClient courseClient;
     final private EnrollmentRepository enrollmentRepository;
+    //single inserts, batched into bulk writes when app.enrollments.write-coalescing.enabled is set
+    final private EnrollmentWriteCoalescer enrollmentWriteCoalescer;
+    //how long a live read waits on a downstream service before serving the stored names instead
+    final private Duration liveTimeout;
+    //records of a bulk import validated with one lookup per downstream service and inserted with one bulk write.
+    //The ids of a lookup go in its query string, like app.students-service.batch-size keep it around 100
+    final private int importWindowSize;
+    //how long a window of a slowly uploaded import waits to fill up before being processed anyway
+    final private Duration importWindowMaxWait;
+    //windows of an import in progress at the same time, the results are still sent in order
+    final private int importConcurrency;
 
-    public EnrollmentServiceImpl(StudentClientAsynchronous studentClient, CourseClient courseClient, EnrollmentRepository enrollmentRepository) {
+    public EnrollmentServiceImpl(StudentClientAsynchronous studentClient,
+                                 CourseClient courseClient,
+                                 EnrollmentRepository enrollmentRepository,
+                                 EnrollmentWriteCoalescer enrollmentWriteCoalescer,
+                                 @Value("${app.enrollments.live-timeout:2s}") Duration liveTimeout,
+                                 @Value("${app.enrollments.import.window-size:100}") int importWindowSize,
+                                 @Value("${app.enrollments.import.window-max-wait:1s}") Duration importWindowMaxWait,
+                                 @Value("${app.enrollments.import.concurrency:4}") int importConcurrency) {
         this.studentClient = studentClient;
         this.courseClient = courseClient;
         this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentWriteCoalescer = enrollmentWriteCoalescer;
+        this.liveTimeout = liveTimeout;
+        this.importWindowSize = importWindowSize;
+        this.importWindowMaxWait = importWindowMaxWait;
+        this.importConcurrency = importConcurrency;
     }
 
     @Override
     public Flux<EnrollmentResponseModel> getAllEnrollments() {
-        return enrollmentRepository.findAll()
-                .flatMap(enrollment -> Mono.zip(
-                        studentClient.getStudentByStudentId(enrollment.getStudentId()),
-                        courseClient.getCourseByCourseId(enrollment.getCourseId()),
-                        Mono.just(enrollment)
-                ))
-                .map(tuple -> {
-                    var enrollment = tuple.getT3();
-                    var student = tuple.getT1();
-                    var course = tuple.getT2();
+        return getAllEnrollments(ReadConsistency.LIVE);
+    }
 
-                    enrollment.setStudentFirstName(student.getFirstName());
-                    enrollment.setStudentLastName(student.getLastName());
-                    enrollment.setCourseNumber(course.getCourseNumber());
-                    enrollment.setCourseName(course.getCourseName());
+    @Override
+    public Flux<EnrollmentResponseModel> getAllEnrollments(ReadConsistency consistency) {
+        return withNames(enrollmentRepository.findAll(), consistency)
+                .map(EntityModelUtil::toEnrollmentResponseModel);
+    }
 
-                    return EntityModelUtil.toEnrollmentResponseModel(enrollment);
-                });
+    @Override
+    public Flux<Tuple2<String, EnrollmentResponseModel>> getEnrollmentsPage(EnrollmentFilter filter, String after, Integer limit,
+                                                                            ReadConsistency consistency) {
+        return Mono.fromCallable(() -> Optional.ofNullable(EnrollmentCursor.decode(after)))
+                .flatMapMany(afterId -> withNames(enrollmentRepository.findPage(filter, afterId.orElse(null), limit), consistency))
+                .map(enrollment -> Tuples.of(EnrollmentCursor.encode(enrollment.getId()),
+                        EntityModelUtil.toEnrollmentResponseModel(enrollment)));
     }
 
     @Override
     public Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId) {
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Enrollment id not found " + enrollmentId)))
+        return getEnrollmentByEnrollmentId(enrollmentId, ReadConsistency.LIVE);
+    }
+
+    @Override
+    public Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId, ReadConsistency consistency) {
+        Mono<Enrollment> enrollmentMono = enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
+                .switchIfEmpty(Mono.error(new NotFoundException("Enrollment id not found " + enrollmentId)));
+
+        if (consistency == ReadConsistency.SNAPSHOT) {
+            return enrollmentMono.map(EntityModelUtil::toEnrollmentResponseModel);
+        }
+
+        return enrollmentMono
                 .flatMap(enrollment -> Mono.zip(
-                        studentClient.getStudentByStudentId(enrollment.getStudentId()),
-                        courseClient.getCourseByCourseId(enrollment.getCourseId()),
+                        liveOrSnapshot(studentClient.getStudentByStudentId(enrollment.getStudentId()), "students-service"),
+                        liveOrSnapshot(courseClient.getCourseByCourseId(enrollment.getCourseId()), "courses-service"),
                         Mono.just(enrollment)
                 ))
                 .map(tuple -> {
                     var enrollment = tuple.getT3();
-                    var student = tuple.getT1();
-                    var course = tuple.getT2();
 
-                    enrollment.setStudentFirstName(student.getFirstName());
-                    enrollment.setStudentLastName(student.getLastName());
-                    enrollment.setCourseNumber(course.getCourseNumber());
-                    enrollment.setCourseName(course.getCourseName());
+                    tuple.getT1().ifPresent(student -> {
+                        enrollment.setStudentFirstName(student.getFirstName());
+                        enrollment.setStudentLastName(student.getLastName());
+                    });
+                    tuple.getT2().ifPresent(course -> {
+                        enrollment.setCourseNumber(course.getCourseNumber());
+                        enrollment.setCourseName(course.getCourseName());
+                    });
 
                     return EntityModelUtil.toEnrollmentResponseModel(enrollment);
                 });
@@ -76,53 +127,230 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     public Mono<EnrollmentResponseModel> addEnrollment(Mono<EnrollmentRequestModel> enrollmentRequestModel) {
         return enrollmentRequestModel
                 .map(RequestContext::new)
-                .flatMap(this::studentRequestResponse)
-                .flatMap(this::courseRequestResponse)
+                .flatMap(this::studentAndCourseRequestResponse)
                 .map(EntityModelUtil::toEnrollmentEntity)
-                .map(enrollmentRepository::save)
-                .flatMap(entity -> entity)
+                .flatMap(enrollmentWriteCoalescer::insert)
                 .map(EntityModelUtil::toEnrollmentResponseModel);
     }
 
+    @Override
+    public Flux<EnrollmentImportResult> importEnrollments(Flux<EnrollmentRequestModel> enrollmentRequestModels) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            //doOnNext is called for one result at a time, no need for atomic counters
+            Map<EnrollmentImportResult.Status, Long> counts = new EnumMap<>(EnrollmentImportResult.Status.class);
+            return enrollmentRequestModels
+                    .index((index, request) -> Tuples.of(index + 1, request))
+                    .bufferTimeout(importWindowSize, importWindowMaxWait)
+                    .flatMapSequential(this::importWindow, importConcurrency)
+                    .flatMapIterable(results -> results)
+                    .doOnNext(result -> counts.merge(result.getStatus(), 1L, Long::sum))
+                    .concatWith(Mono.fromSupplier(() -> importSummary(counts, System.nanoTime() - start)));
+        });
+    }
+
+    /*
+       Validates a window of numbered requests and inserts the valid ones: one batch lookup of the students and one
+       of the courses, both at the same time, then one unordered bulk insert. When a lookup or the whole write
+       fails, the records of the window that are not answered yet are FAILED and the import goes on.
+     */
+    private Mono<List<EnrollmentImportResult>> importWindow(List<Tuple2<Long, EnrollmentRequestModel>> window) {
+        EnrollmentImportResult[] results = new EnrollmentImportResult[window.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < window.size(); i++) {
+            String invalid = invalidImportRequest(window.get(i).getT2());
+            if (invalid != null) {
+                results[i] = importResult(window.get(i).getT1(), EnrollmentImportResult.Status.INVALID, null, invalid);
+            } else {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return Mono.just(List.of(results));
+        }
+
+        return Mono.zip(
+                        studentClient.getStudentsByStudentIds(pending.stream()
+                                .map(i -> window.get(i).getT2().getStudentId())
+                                .collect(Collectors.toSet())),
+                        courseClient.getCoursesByCourseIds(pending.stream()
+                                .map(i -> window.get(i).getT2().getCourseId())
+                                .collect(Collectors.toSet())))
+                .flatMap(lookups -> {
+                    List<Integer> toInsert = new ArrayList<>();
+                    List<Enrollment> enrollments = new ArrayList<>();
+                    for (int i : pending) {
+                        EnrollmentRequestModel request = window.get(i).getT2();
+                        StudentResponseModel student = lookups.getT1().get(request.getStudentId());
+                        CourseResponseModel course = lookups.getT2().get(request.getCourseId());
+                        if (student == null || course == null) {
+                            results[i] = importResult(window.get(i).getT1(), EnrollmentImportResult.Status.INVALID, null,
+                                    student == null
+                                            ? "StudentId not found: " + request.getStudentId()
+                                            : "CourseId not found: " + request.getCourseId());
+                            continue;
+                        }
+                        toInsert.add(i);
+                        enrollments.add(EntityModelUtil.toEnrollmentEntity(new RequestContext(request, null, student, course)));
+                    }
+                    return enrollmentRepository.insertUnordered(enrollments)
+                            .doOnNext(writeErrors -> {
+                                for (int j = 0; j < enrollments.size(); j++) {
+                                    int i = toInsert.get(j);
+                                    String writeError = writeErrors.get(j);
+                                    results[i] = writeError == null
+                                            ? importResult(window.get(i).getT1(), EnrollmentImportResult.Status.CREATED,
+                                                    enrollments.get(j).getEnrollmentId(), null)
+                                            : importResult(window.get(i).getT1(), EnrollmentImportResult.Status.FAILED,
+                                                    null, writeError);
+                                }
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("Import of records {} to {} failed: {}",
+                            window.get(0).getT1(), window.get(window.size() - 1).getT1(), e.toString());
+                    for (int i : pending) {
+                        if (results[i] == null) {
+                            results[i] = importResult(window.get(i).getT1(), EnrollmentImportResult.Status.FAILED,
+                                    null, e.getMessage());
+                        }
+                    }
+                    return Mono.empty();
+                })
+                .then(Mono.fromSupplier(() -> List.of(results)));
+    }
+
+    //what is wrong with a request of a bulk import before any lookup, null when nothing is
+    private static String invalidImportRequest(EnrollmentRequestModel request) {
+        if (request.getStudentId() == null || request.getStudentId().length() != 36) {
+            return "Invalid student id: " + request.getStudentId();
+        }
+        if (request.getCourseId() == null || request.getCourseId().length() != 36) {
+            return "Invalid course id: " + request.getCourseId();
+        }
+        if (request.getEnrollmentYear() == null) {
+            return "Missing enrollmentYear";
+        }
+        if (request.getSemester() == null) {
+            return "Missing semester";
+        }
+        return null;
+    }
+
+    private static EnrollmentImportResult importResult(long record, EnrollmentImportResult.Status status,
+                                                       String enrollmentId, String message) {
+        return EnrollmentImportResult.builder()
+                .record(record)
+                .status(status)
+                .enrollmentId(enrollmentId)
+                .message(message)
+                .build();
+    }
+
+    private static EnrollmentImportResult importSummary(Map<EnrollmentImportResult.Status, Long> counts, long elapsedNanos) {
+        long records = counts.values().stream().mapToLong(Long::longValue).sum();
+        long recordsPerSecond = elapsedNanos == 0 ? records : records * 1_000_000_000L / elapsedNanos;
+        log.info("Imported {} enrollments in {} ms, {} records/sec: {}",
+                records, elapsedNanos / 1_000_000, recordsPerSecond, counts);
+        return EnrollmentImportResult.builder()
+                .status(EnrollmentImportResult.Status.COMPLETED)
+                .created(counts.getOrDefault(EnrollmentImportResult.Status.CREATED, 0L))
+                .invalid(counts.getOrDefault(EnrollmentImportResult.Status.INVALID, 0L))
+                .failed(counts.getOrDefault(EnrollmentImportResult.Status.FAILED, 0L))
+                .recordsPerSecond(recordsPerSecond)
+                .build();
+    }
+
     @Override
     public Mono<EnrollmentResponseModel> updateEnrollmentByEnrollmentId(Mono<EnrollmentRequestModel> enrollmentRequestModel, String enrollmentId) {
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Enrollment id not found " + enrollmentId))))
-                .flatMap(s -> enrollmentRequestModel
-                        .map(RequestContext::new)
-                        .flatMap(this::studentRequestResponse)
-                        .flatMap(this::courseRequestResponse)
-                        .map(EntityModelUtil::toEnrollmentEntity)
-                        .doOnNext(e -> e.setEnrollmentId(s.getEnrollmentId()))
-                        .doOnNext(e -> e.setId(s.getId())))
-                .flatMap(enrollmentRepository::save)
+        return enrollmentRequestModel
+                .map(RequestContext::new)
+                .flatMap(this::studentAndCourseRequestResponse)
+                .map(EntityModelUtil::toEnrollmentEntity)
+                //single atomic findAndModify on the unique enrollmentId index, no read before the write
+                .flatMap(e -> enrollmentRepository.updateEnrollmentByEnrollmentId(enrollmentId, e)
+                        .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Enrollment id not found " + enrollmentId)))))
                 .map(EntityModelUtil::toEnrollmentResponseModel);
     }
 
     @Override
     public Mono<EnrollmentResponseModel> deleteEnrollmentByEnrollmentId(String enrollmentId) {
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
+        return enrollmentRepository.deleteEnrollmentByEnrollmentId(enrollmentId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Enrollment id not found " + enrollmentId))))
-                .flatMap(enrollment -> {
-                    EnrollmentResponseModel responseModel = convertToResponseModel(enrollment);
-
-                    return enrollmentRepository.delete(enrollment)
-                            .then(Mono.just(responseModel));
-                });
+                .map(this::convertToResponseModel);
     }
 
-    private Mono<RequestContext> studentRequestResponse(RequestContext rc) {
-        return this.studentClient
-                .getStudentByStudentId(rc.getEnrollmentRequestModel().getStudentId())
-                .doOnNext(rc::setStudentResponseModel)
+    //both lookups run at the same time, so validation takes as long as the slower one instead of their sum
+    private Mono<RequestContext> studentAndCourseRequestResponse(RequestContext rc) {
+        return Mono.zip(
+                        this.studentClient.getStudentByStudentId(rc.getEnrollmentRequestModel().getStudentId()),
+                        this.courseClient.getCourseByCourseId(rc.getEnrollmentRequestModel().getCourseId()))
+                .doOnNext(tuple -> {
+                    rc.setStudentResponseModel(tuple.getT1());
+                    rc.setCourseResponseModel(tuple.getT2());
+                })
                 .thenReturn(rc);
     }
 
-    private Mono<RequestContext> courseRequestResponse(RequestContext rc) {
-        return this.courseClient
-                .getCourseByCourseId(rc.getEnrollmentRequestModel().getCourseId())
-                .doOnNext(rc::setCourseResponseModel)
-                .thenReturn(rc);
+    //fills in the student and course names according to the requested consistency, keeping the source order
+    private Flux<Enrollment> withNames(Flux<Enrollment> enrollments, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.SNAPSHOT) {
+            return enrollments;
+        }
+
+        //one students-service call and one courses-service call per window of enrollments, both at the same time,
+        //with several windows in progress at once (app.students-service.batch-concurrency)
+        return studentClient.getStudentsInBatches(enrollments, Enrollment::getStudentId,
+                (window, students) -> Mono.zip(
+                                liveOrSnapshot(students, "students-service").map(found -> found.orElse(Map.of())),
+                                liveOrSnapshot(courseClient.getCoursesByCourseIds(window.stream()
+                                        .map(Enrollment::getCourseId)
+                                        .collect(Collectors.toSet())), "courses-service").map(found -> found.orElse(Map.of())))
+                        .flatMapIterable(found -> enrichWindow(window, found.getT1(), found.getT2())));
+    }
+
+    /*
+       Bounds a downstream lookup made for a live read by liveTimeout. When it times out or the downstream
+       service fails, an empty Optional is emitted so the caller keeps the snapshot stored on the enrollment.
+       NotFound and InvalidInput are real answers from the downstream service and are still propagated.
+     */
+    private <T> Mono<Optional<T>> liveOrSnapshot(Mono<T> lookup, String downstream) {
+        return lookup
+                .map(Optional::of)
+                .timeout(liveTimeout)
+                .onErrorResume(e -> !(e instanceof NotFoundException || e instanceof InvalidInputException), e -> {
+                    log.warn("{} unavailable ({}), serving the stored snapshot", downstream, e.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    //copies the live student and course names onto each enrollment, keeping the stored ones when a lookup came back empty
+    private List<Enrollment> enrichWindow(List<Enrollment> enrollments,
+                                          Map<String, StudentResponseModel> students,
+                                          Map<String, CourseResponseModel> courses) {
+        return enrollments.stream()
+                .map(enrollment -> {
+                    var student = students.get(enrollment.getStudentId());
+                    if (student != null) {
+                        enrollment.setStudentFirstName(student.getFirstName());
+                        enrollment.setStudentLastName(student.getLastName());
+                    } else {
+                        log.debug("Student {} not found, keeping stored name for enrollment {}",
+                                enrollment.getStudentId(), enrollment.getEnrollmentId());
+                    }
+
+                    var course = courses.get(enrollment.getCourseId());
+                    if (course != null) {
+                        enrollment.setCourseNumber(course.getCourseNumber());
+                        enrollment.setCourseName(course.getCourseName());
+                    } else {
+                        log.debug("Course {} not found, keeping stored name for enrollment {}",
+                                enrollment.getCourseId(), enrollment.getEnrollmentId());
+                    }
+
+                    return enrollment;
+                })
+                .toList();
     }
 
     private EnrollmentResponseModel convertToResponseModel(Enrollment enrollment) {
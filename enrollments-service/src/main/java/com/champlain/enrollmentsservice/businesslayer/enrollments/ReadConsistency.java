@@ -0,0 +1,24 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+
+import java.util.Arrays;
+
+/*
+   How enrollment reads get the student and course names.
+
+   SNAPSHOT - the names stored on the enrollment in Mongo, no downstream call at all
+   LIVE     - the current names from students-service and courses-service, falling back to the
+              stored ones when a downstream service is slow or unavailable
+ */
+public enum ReadConsistency {
+    SNAPSHOT,
+    LIVE;
+
+    public static ReadConsistency fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(consistency -> consistency.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidInputException("Invalid consistency: " + value + ", expected snapshot or live"));
+    }
+}
@@ -55,6 +55,6 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public Mono<StudentResponseModel> getStudentByStudentId(String studentId) {
-        return studentClientAsynchronous.getStudentByStudentId(studentId);
+        return studentClientAsynchronous.getStudentDetailsByStudentId(studentId);
     }
 }
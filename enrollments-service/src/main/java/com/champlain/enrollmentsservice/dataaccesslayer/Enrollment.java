@@ -5,15 +5,31 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Document
+//equality fields first and _id last, so filtered keyset pages are an index range scan already in _id order. Covers the
+//filters the listing accepts: a student or a course, optionally with a term, or a term alone (a term is always both
+//enrollmentYear and semester). With both a student and a course the student index is used and courseId filtered on fetch
+@CompoundIndexes({
+        @CompoundIndex(name = "student_id", def = "{ 'studentId' : 1, '_id' : 1 }"),
+        @CompoundIndex(name = "course_id", def = "{ 'courseId' : 1, '_id' : 1 }"),
+        @CompoundIndex(name = "student_term_id", def = "{ 'studentId' : 1, 'enrollmentYear' : 1, 'semester' : 1, '_id' : 1 }"),
+        @CompoundIndex(name = "course_term_id", def = "{ 'courseId' : 1, 'enrollmentYear' : 1, 'semester' : 1, '_id' : 1 }"),
+        @CompoundIndex(name = "term_id", def = "{ 'enrollmentYear' : 1, 'semester' : 1, '_id' : 1 }")
+})
 public class Enrollment {
 
     @Id
     private String id;
+    @Indexed(unique = true)
     private String enrollmentId;
     private Integer enrollmentYear;
     private Semester semester;
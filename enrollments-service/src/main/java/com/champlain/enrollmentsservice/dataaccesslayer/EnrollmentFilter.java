@@ -0,0 +1,19 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//criteria of the enrollment listing, a null field does not filter
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentFilter {
+
+    private String studentId;
+    private String courseId;
+    private Integer enrollmentYear;
+    private Semester semester;
+}
@@ -1,9 +1,19 @@
 package com.champlain.enrollmentsservice.dataaccesslayer;
 
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
 import reactor.core.publisher.Mono;
 
-public interface EnrollmentRepository extends ReactiveMongoRepository<Enrollment, String>{
+public interface EnrollmentRepository extends ReactiveMongoRepository<Enrollment, String>, EnrollmentRepositoryCustom {
 
     Mono<Enrollment> findEnrollmentByEnrollmentId(String enrollmentId);
+
+    //findAndRemove: removes the enrollment and emits it in one round trip, empty when there was none
+    Mono<Enrollment> deleteEnrollmentByEnrollmentId(String enrollmentId);
+
+    //one updateMany for every enrollment of the course, returns the number of modified documents
+    @Query("{ 'courseId' : ?0 }")
+    @Update("{ '$set' : { 'courseNumber' : ?1, 'courseName' : ?2 } }")
+    Mono<Long> updateCourseDetailsByCourseId(String courseId, String courseNumber, String courseName);
 }
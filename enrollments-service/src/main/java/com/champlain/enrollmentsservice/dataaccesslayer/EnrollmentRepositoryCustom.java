@@ -0,0 +1,31 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EnrollmentRepositoryCustom {
+
+    /*
+       Keyset page ordered by _id: the enrollments matching filter whose _id is greater than afterId (from the
+       start when null), at most limit of them (all remaining when null). Each page is a range scan on the _id
+       index, or on one of the compound indexes declared on Enrollment when filtering, so its cost does not grow
+       with how far into the collection it starts.
+     */
+    Flux<Enrollment> findPage(EnrollmentFilter filter, String afterId, Integer limit);
+
+    /*
+       findAndModify on enrollmentId: overwrites every field of the stored enrollment except _id and enrollmentId
+       with the ones of enrollment and emits the updated document, empty when no enrollment has that id.
+     */
+    Mono<Enrollment> updateEnrollmentByEnrollmentId(String enrollmentId, Enrollment enrollment);
+
+    /*
+       Unordered bulk insert, a single insertMany for all of enrollments: the server carries on past a document
+       it cannot write (e.g. a duplicate enrollmentId) instead of stopping there. Emits the write errors by
+       position in enrollments, an empty map when every enrollment was inserted.
+     */
+    Mono<Map<Integer, String>> insertUnordered(List<Enrollment> enrollments);
+}
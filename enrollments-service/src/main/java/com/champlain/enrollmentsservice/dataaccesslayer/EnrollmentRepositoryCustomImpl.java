@@ -0,0 +1,93 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class EnrollmentRepositoryCustomImpl implements EnrollmentRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public EnrollmentRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Enrollment> findPage(EnrollmentFilter filter, String afterId, Integer limit) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id"));
+        if (filter.getStudentId() != null) {
+            query.addCriteria(Criteria.where("studentId").is(filter.getStudentId()));
+        }
+        if (filter.getCourseId() != null) {
+            query.addCriteria(Criteria.where("courseId").is(filter.getCourseId()));
+        }
+        if (filter.getEnrollmentYear() != null) {
+            query.addCriteria(Criteria.where("enrollmentYear").is(filter.getEnrollmentYear()));
+        }
+        if (filter.getSemester() != null) {
+            query.addCriteria(Criteria.where("semester").is(filter.getSemester()));
+        }
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        if (limit != null) {
+            query.limit(limit);
+        }
+        return mongoTemplate.find(query, Enrollment.class);
+    }
+
+    @Override
+    public Mono<Enrollment> updateEnrollmentByEnrollmentId(String enrollmentId, Enrollment enrollment) {
+        Update update = new Update()
+                .set("enrollmentYear", enrollment.getEnrollmentYear())
+                .set("semester", enrollment.getSemester())
+                .set("studentId", enrollment.getStudentId())
+                .set("studentFirstName", enrollment.getStudentFirstName())
+                .set("studentLastName", enrollment.getStudentLastName())
+                .set("courseId", enrollment.getCourseId())
+                .set("courseNumber", enrollment.getCourseNumber())
+                .set("courseName", enrollment.getCourseName());
+
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("enrollmentId").is(enrollmentId)), update,
+                FindAndModifyOptions.options().returnNew(true), Enrollment.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class)
+                .insert(enrollments)
+                .execute()
+                .<Map<Integer, String>>thenReturn(Map.of())
+                .onErrorResume(e -> writeErrors(e) != null, e -> Mono.just(writeErrors(e).stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage))));
+    }
+
+    //the errors of the documents that were not inserted, null when the whole bulk write failed
+    private static List<BulkWriteError> writeErrors(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulkOperationException) {
+                return bulkOperationException.getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return bulkWriteException.getWriteErrors();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/*
+   Micro-batching of single enrollment inserts, opt-in with app.enrollments.write-coalescing.enabled.
+   Concurrent inserts wait until maxBatchSize of them are pending or the oldest one has waited maxWait, then
+   they are written with one unordered bulk insert: under load many saves become a single round trip to Mongo,
+   and a lone insert is delayed by maxWait at most. Each caller's Mono completes with its own enrollment, or
+   with the error of its own document; when the whole bulk write fails, every insert of the batch fails with it.
+   At most concurrency bulk writes are in progress, the inserts arriving meanwhile keep filling the next batch.
+
+   An insert whose caller cancels is still written once it is in a batch.
+   Disabled, insert is a plain save.
+
+   The size of each bulk write is published as enrollments.write-coalescing.batch-size.
+ */
+@Component
+@Slf4j
+public class EnrollmentWriteCoalescer implements DisposableBean {
+
+    //how long a caller retries handing its insert over while other threads are doing the same
+    private static final Duration EMIT_CONTENTION_TIMEOUT = Duration.ofSeconds(1);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final boolean enabled;
+    private final Sinks.Many<PendingInsert> pendingInserts = Sinks.many().unicast().onBackpressureBuffer();
+    private final DistributionSummary batchSizes;
+    //null when disabled
+    private final Disposable flushes;
+
+    public EnrollmentWriteCoalescer(EnrollmentRepository enrollmentRepository,
+                                    @Value("${app.enrollments.write-coalescing.enabled:false}") boolean enabled,
+                                    @Value("${app.enrollments.write-coalescing.max-batch-size:100}") int maxBatchSize,
+                                    @Value("${app.enrollments.write-coalescing.max-wait:5ms}") Duration maxWait,
+                                    @Value("${app.enrollments.write-coalescing.concurrency:4}") int concurrency,
+                                    MeterRegistry meterRegistry) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enabled = enabled;
+        this.batchSizes = DistributionSummary.builder("enrollments.write-coalescing.batch-size")
+                .description("Enrollments written by one bulk insert of coalesced single inserts")
+                .register(meterRegistry);
+        //fair backpressure: a full or timed out batch waits for a free flush instead of overflowing
+        this.flushes = !enabled ? null : pendingInserts.asFlux()
+                .bufferTimeout(maxBatchSize, maxWait, true)
+                .flatMap(this::flush, concurrency)
+                .subscribe();
+    }
+
+    public Mono<Enrollment> insert(Enrollment enrollment) {
+        if (!enabled) {
+            return enrollmentRepository.save(enrollment);
+        }
+        return Mono.defer(() -> {
+            Sinks.One<Enrollment> result = Sinks.one();
+            pendingInserts.emitNext(new PendingInsert(enrollment, result),
+                    Sinks.EmitFailureHandler.busyLooping(EMIT_CONTENTION_TIMEOUT));
+            return result.asMono();
+        });
+    }
+
+    private Mono<Void> flush(List<PendingInsert> batch) {
+        batchSizes.record(batch.size());
+        return enrollmentRepository.insertUnordered(batch.stream().map(PendingInsert::enrollment).toList())
+                .doOnNext(writeErrors -> complete(batch, writeErrors))
+                .doOnError(e -> {
+                    log.warn("Bulk insert of {} coalesced enrollments failed: {}", batch.size(), e.toString());
+                    batch.forEach(insert -> insert.result().tryEmitError(e));
+                })
+                //the failure went to the callers, the next batches must still be written
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private static void complete(List<PendingInsert> batch, Map<Integer, String> writeErrors) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingInsert insert = batch.get(i);
+            String writeError = writeErrors.get(i);
+            if (writeError == null) {
+                insert.result().tryEmitValue(insert.enrollment());
+            } else {
+                insert.result().tryEmitError(new DataIntegrityViolationException(writeError));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flushes != null) {
+            pendingInserts.tryEmitComplete();
+            flushes.dispose();
+        }
+    }
+
+    private record PendingInsert(Enrollment enrollment, Sinks.One<Enrollment> result) {
+    }
+}
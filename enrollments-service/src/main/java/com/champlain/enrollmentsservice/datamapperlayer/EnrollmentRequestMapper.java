@@ -0,0 +1,32 @@
+package com.champlain.enrollmentsservice.datamapperlayer;
+
+import com.champlain.enrollmentsservice.businesslayer.enrollments.RequestContext;
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
+import com.champlain.enrollmentsservice.utils.EntityModelUtil;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(imports = EntityModelUtil.class)
+public interface EnrollmentRequestMapper {
+
+    EnrollmentRequestMapper INSTANCE = Mappers.getMapper(EnrollmentRequestMapper.class);
+
+    //a new enrollment, with the names read from students-service and courses-service
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "enrollmentId", expression = "java(EntityModelUtil.generateUUIDString())")
+    @Mapping(target = "enrollmentYear", source = "enrollmentRequestModel.enrollmentYear")
+    @Mapping(target = "semester", source = "enrollmentRequestModel.semester")
+    @Mapping(target = "studentId", source = "studentResponseModel.studentId")
+    @Mapping(target = "studentFirstName", source = "studentResponseModel.firstName")
+    @Mapping(target = "studentLastName", source = "studentResponseModel.lastName")
+    @Mapping(target = "courseId", source = "courseResponseModel.courseId")
+    @Mapping(target = "courseName", source = "courseResponseModel.courseName")
+    @Mapping(target = "courseNumber", source = "courseResponseModel.courseNumber")
+    Enrollment requestContextToEntity(RequestContext requestContext);
+
+    @Mapping(target = "id", source = "enrollmentId")
+    @Mapping(target = "enrollmentId", ignore = true)
+    Enrollment responseModelToEntity(EnrollmentResponseModel enrollmentResponseModel);
+}
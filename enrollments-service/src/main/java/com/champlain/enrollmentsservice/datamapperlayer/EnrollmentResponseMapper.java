@@ -0,0 +1,16 @@
+package com.champlain.enrollmentsservice.datamapperlayer;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+//generated at compile time, plain getter/setter calls instead of the reflective BeanUtils.copyProperties
+@Mapper
+public interface EnrollmentResponseMapper {
+
+    //the services map through the static EntityModelUtil methods, which use this instance
+    EnrollmentResponseMapper INSTANCE = Mappers.getMapper(EnrollmentResponseMapper.class);
+
+    EnrollmentResponseModel entityToResponseModel(Enrollment enrollment);
+}
@@ -0,0 +1,220 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+   Bounds the requests in flight to one downstream service with a limit that follows its latency (AIMD).
+
+   - a request that completes within tolerance x the baseline latency adds 1/limit to the limit, so the limit
+     grows by one per round of requests, but only while at least half of it is used
+   - a slower request, or a failure other than NotFound/InvalidInput (timeouts, 5xx, connection errors),
+     multiplies the limit by backoffRatio
+   - the baseline is the lowest latency of the previous window of BASELINE_WINDOW requests, so it follows
+     the service when it gets durably slower or faster; it is never taken below 1ms so that the jitter of
+     sub-millisecond answers is not read as congestion
+
+   Requests over the limit wait in a FIFO queue instead of being sent; a waiting request that is cancelled
+   leaves the queue. Cancelled requests are not used as a latency sample.
+
+   Meters, tagged client=...: client.concurrency.limit, client.concurrency.in-flight, client.concurrency.queued
+   and client.concurrency.queue-delay (moving average of the wait in the queue, in milliseconds).
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_WINDOW = 500;
+    private static final long MIN_BASELINE_NANOS = 1_000_000;
+    private static final double QUEUE_DELAY_SMOOTHING = 0.1;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    //guarded by this
+    private double limit;
+    private int inFlight;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    private volatile double queueDelayMillis;
+
+    @Builder
+    public AdaptiveConcurrencyLimiter(String clientName,
+                                      boolean enabled,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      double tolerance,
+                                      double backoffRatio,
+                                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        //a limit of 0 would never let a request through again
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(this.minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("client.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current limit of requests in flight to the downstream service")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("client.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently in flight to the downstream service")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("client.concurrency.queued", this, AdaptiveConcurrencyLimiter::queued)
+                .description("Requests waiting for the limit")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("client.concurrency.queue-delay", this, limiter -> limiter.queueDelayMillis)
+                .description("Moving average of the time requests waited for the limit")
+                .tag("client", clientName)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!enabled) {
+            return Mono.defer(request);
+        }
+        return acquire().then(Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get()
+                    .doOnSuccess(value -> onSample(System.nanoTime() - start, false))
+                    //a 404 or 422 is an answer of the service, only its latency says something about the load
+                    .doOnError(error -> onSample(System.nanoTime() - start,
+                            !(error instanceof NotFoundException || error instanceof InvalidInputException)))
+                    .doFinally(signal -> release());
+        }));
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    double queueDelayMillis() {
+        return queueDelayMillis;
+    }
+
+    //completes straight away when under the limit, otherwise once a slot is handed over by release()
+    private Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (queue.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    return Mono.empty();
+                }
+                waiter = new Waiter(System.nanoTime());
+                queue.addLast(waiter);
+            }
+            return waiter.slot.asMono().doOnCancel(() -> cancel(waiter));
+        });
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            inFlight--;
+            next = pollNext();
+        }
+        grant(next);
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            synchronized (this) {
+                queue.remove(waiter);
+            }
+        } else {
+            //the slot was handed over just before the cancellation, give it back
+            release();
+        }
+    }
+
+    //takes the next waiter when a slot is free and counts it as in flight, null otherwise
+    private Waiter pollNext() {
+        while (inFlight < (int) limit && !queue.isEmpty()) {
+            Waiter waiter = queue.pollFirst();
+            if (waiter.state.get() == Waiter.WAITING) {
+                inFlight++;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void grant(Waiter waiter) {
+        if (waiter == null) {
+            return;
+        }
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+            double waitedMillis = (System.nanoTime() - waiter.enqueuedAt) / 1_000_000.0;
+            synchronized (this) {
+                queueDelayMillis += QUEUE_DELAY_SMOOTHING * (waitedMillis - queueDelayMillis);
+            }
+            waiter.slot.tryEmitEmpty();
+        } else {
+            release();
+        }
+    }
+
+    private void onSample(long latencyNanos, boolean failed) {
+        Waiter next;
+        synchronized (this) {
+            windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+            if (++windowSamples >= BASELINE_WINDOW) {
+                baselineNanos = windowMinNanos;
+                windowMinNanos = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+            long baseline = Math.max(MIN_BASELINE_NANOS, Math.min(baselineNanos, windowMinNanos));
+
+            if (failed || latencyNanos > baseline * tolerance) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight >= limit / 2) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            //the limit may have grown past the requests in flight
+            next = pollNext();
+        }
+        grant(next);
+    }
+
+    private static final class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        final long enqueuedAt;
+        final Sinks.Empty<Void> slot = Sinks.empty();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(long enqueuedAt) {
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Builder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/*
+   Bounded, TTL-evicting cache in front of a downstream lookup.
+
+   - at most maximumSize entries, each expiring expireAfterWrite after it was loaded
+   - an entry read after refreshAfterWrite is reloaded in the background while the old value keeps being served,
+     through the reloader when there is one (e.g. a conditional request that answers the old value when it is
+     unchanged), otherwise through the loader
+   - a NotFoundException from the loader is cached as well, but only for negativeTtl, so a burst of
+     lookups for an id that does not exist reaches the downstream service once
+   - any other error is not cached
+
+   Concurrent loads of the same key share one future, and getAll loads every missing key through the
+   bulk loader in a single call. Hit ratio, evictions and load duration are published as the
+   Micrometer cache.* meters tagged with the cache name.
+ */
+public class AsyncLookupCache<K, V> {
+
+    private final AsyncLoadingCache<K, Lookup<V>> cache;
+
+    @Builder
+    public AsyncLookupCache(String cacheName,
+                            long maximumSize,
+                            Duration expireAfterWrite,
+                            Duration refreshAfterWrite,
+                            Duration negativeTtl,
+                            Function<K, Mono<V>> loader,
+                            Function<Set<K>, Mono<Map<K, V>>> bulkLoader,
+                            BiFunction<K, V, Mono<V>> reloader,
+                            Function<K, String> notFoundMessage,
+                            MeterRegistry meterRegistry,
+                            Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LookupExpiry<K, V>(expireAfterWrite, negativeTtl))
+                .refreshAfterWrite(refreshAfterWrite)
+                .ticker(ticker != null ? ticker : Ticker.systemTicker())
+                .recordStats()
+                .buildAsync(new LookupLoader<>(loader, bulkLoader, reloader, notFoundMessage));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+    }
+
+    public Mono<V> get(K key) {
+        //suppressCancel: one caller going away must not cancel the load other callers are waiting on
+        return Mono.fromFuture(() -> cache.get(key), true)
+                .flatMap(lookup -> lookup.found()
+                        ? Mono.just(lookup.value())
+                        : Mono.error(new NotFoundException(lookup.notFoundMessage())));
+    }
+
+    //keys that do not exist downstream are absent from the returned map
+    public Mono<Map<K, V>> getAll(Collection<K> keys) {
+        return Mono.fromFuture(() -> cache.getAll(keys), true)
+                .map(lookups -> {
+                    Map<K, V> values = new HashMap<>();
+                    lookups.forEach((key, lookup) -> {
+                        if (lookup.found()) {
+                            values.put(key, lookup.value());
+                        }
+                    });
+                    return values;
+                });
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    private record Lookup<V>(V value, String notFoundMessage) {
+
+        static <V> Lookup<V> of(V value) {
+            return new Lookup<>(value, null);
+        }
+
+        static <V> Lookup<V> notFound(String message) {
+            return new Lookup<>(null, message);
+        }
+
+        boolean found() {
+            return value != null;
+        }
+    }
+
+    private record LookupLoader<K, V>(Function<K, Mono<V>> loader,
+                                      Function<Set<K>, Mono<Map<K, V>>> bulkLoader,
+                                      BiFunction<K, V, Mono<V>> reloader,
+                                      Function<K, String> notFoundMessage)
+            implements AsyncCacheLoader<K, Lookup<V>> {
+
+        @Override
+        public CompletableFuture<? extends Lookup<V>> asyncLoad(K key, Executor executor) {
+            return loader.apply(key)
+                    .map(Lookup::of)
+                    .onErrorResume(NotFoundException.class, e -> Mono.just(Lookup.notFound(e.getMessage())))
+                    .toFuture();
+        }
+
+        @Override
+        public CompletableFuture<? extends Lookup<V>> asyncReload(K key, Lookup<V> oldLookup, Executor executor) {
+            if (reloader == null || !oldLookup.found()) {
+                return asyncLoad(key, executor);
+            }
+            return reloader.apply(key, oldLookup.value())
+                    .map(Lookup::of)
+                    .onErrorResume(NotFoundException.class, e -> Mono.just(Lookup.notFound(e.getMessage())))
+                    .toFuture();
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends K, ? extends Lookup<V>>> asyncLoadAll(Set<? extends K> keys,
+                                                                                               Executor executor) {
+            Set<K> requested = Set.copyOf(keys);
+            return bulkLoader.apply(requested)
+                    .map(found -> {
+                        Map<K, Lookup<V>> lookups = new HashMap<>();
+                        requested.forEach(key -> lookups.put(key, found.containsKey(key)
+                                ? Lookup.of(found.get(key))
+                                : Lookup.notFound(notFoundMessage.apply(key))));
+                        return lookups;
+                    })
+                    .toFuture();
+        }
+    }
+
+    private record LookupExpiry<K, V>(Duration ttl, Duration negativeTtl) implements Expiry<K, Lookup<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Lookup<V> lookup, long currentTime) {
+            return (lookup.found() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Lookup<V> lookup, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, lookup, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Lookup<V> lookup, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
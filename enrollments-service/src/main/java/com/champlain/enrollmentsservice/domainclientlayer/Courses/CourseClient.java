@@ -1,33 +1,144 @@
 package com.champlain.enrollmentsservice.domainclientlayer.Courses;
 
+import com.champlain.enrollmentsservice.domainclientlayer.AdaptiveConcurrencyLimiter;
+import com.champlain.enrollmentsservice.domainclientlayer.AsyncLookupCache;
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamMediaTypes;
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamResilience;
+import com.champlain.enrollmentsservice.domainclientlayer.InFlightRequestCoalescer;
+import com.champlain.enrollmentsservice.domainclientlayer.RequestHedger;
+import com.champlain.enrollmentsservice.domainclientlayer.TaggedValue;
 import com.champlain.enrollmentsservice.utils.HttpErrorInfo;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
 import org.springframework.http.HttpStatusCode;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class CourseClient {
 
+    private static final Duration CHANGE_FEED_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    //all the enrollments need of a course (courseId always comes back), also what the cache keeps
+    private static final String ENROLLMENT_FIELDS = "courseNumber,courseName";
+
     private final WebClient webClient;
     private final String courseClientServiceBaseURL;
+    private final InFlightRequestCoalescer<String, CourseResponseModel> courseLookups;
+    private final RequestHedger courseRequests;
+    private final DownstreamResilience resilience;
+    //requests in flight to the service, whatever the caller's flatMap concurrency
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    //null unless app.courses-service.transport is rsocket
+    private final CourseRSocketClient rsocketClient;
+    //null when app.courses-service.cache.enabled is false. Entries keep the ETag of the course, so that the
+    //refresh after refresh-after-write is a conditional request answered by a 304 while the course is unchanged
+    private final AsyncLookupCache<String, TaggedValue<CourseResponseModel>> courseCache;
 
     public CourseClient(@Value("${app.courses-service.host}") String coursesServiceHost,
-                         @Value("${app.courses-service.port}") String coursesServicePort) {
+                         @Value("${app.courses-service.port}") String coursesServicePort,
+                         @Value("${app.courses-service.cache.enabled:false}") boolean cacheEnabled,
+                         @Value("${app.courses-service.cache.maximum-size:10000}") long cacheMaximumSize,
+                         @Value("${app.courses-service.cache.expire-after-write:10m}") Duration cacheExpireAfterWrite,
+                         @Value("${app.courses-service.cache.refresh-after-write:5m}") Duration cacheRefreshAfterWrite,
+                         @Value("${app.courses-service.cache.negative-ttl:30s}") Duration cacheNegativeTtl,
+                         @Value("${app.hedging.enabled:false}") boolean hedgingEnabled,
+                         @Value("${app.hedging.min-samples:100}") long hedgingMinSamples,
+                         @Value("${app.courses-service.connect-timeout:2s}") Duration connectTimeout,
+                         @Value("${app.courses-service.response-timeout:3s}") Duration responseTimeout,
+                         @Value("${app.concurrency-limit.enabled:true}") boolean concurrencyLimitEnabled,
+                         @Value("${app.concurrency-limit.initial-limit:20}") int concurrencyInitialLimit,
+                         @Value("${app.concurrency-limit.max-limit:200}") int concurrencyMaxLimit,
+                         @Value("${app.concurrency-limit.latency-tolerance:2.0}") double concurrencyLatencyTolerance,
+                         HttpClient downstreamHttpClient,
+                         ObjectProvider<CourseRSocketClient> rsocketClient,
+                         MeterRegistry meterRegistry,
+                         CircuitBreakerRegistry circuitBreakerRegistry,
+                         RetryRegistry retryRegistry) {
         courseClientServiceBaseURL = "http://" + coursesServiceHost + ":" + coursesServicePort + "/api/v1/courses";
 
         this.webClient = WebClient.builder()
                 .baseUrl(courseClientServiceBaseURL)
+                .clientConnector(new ReactorClientHttpConnector(downstreamHttpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                        .responseTimeout(responseTimeout)))
+                .defaultHeaders(headers -> headers.setAccept(DownstreamMediaTypes.ACCEPTED))
+                .build();
+        this.courseLookups = new InFlightRequestCoalescer<>("courses-service", meterRegistry);
+        this.courseRequests = new RequestHedger("courses-service", hedgingEnabled, hedgingMinSamples, meterRegistry);
+        this.resilience = new DownstreamResilience("courses-service", circuitBreakerRegistry, retryRegistry);
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.builder()
+                .clientName("courses-service")
+                .enabled(concurrencyLimitEnabled)
+                .initialLimit(concurrencyInitialLimit)
+                .minLimit(1)
+                .maxLimit(concurrencyMaxLimit)
+                .tolerance(concurrencyLatencyTolerance)
+                .backoffRatio(0.9)
+                .meterRegistry(meterRegistry)
+                .build();
+        this.rsocketClient = rsocketClient.getIfAvailable();
+        this.courseCache = !cacheEnabled ? null : AsyncLookupCache.<String, TaggedValue<CourseResponseModel>>builder()
+                .cacheName("courses")
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheExpireAfterWrite)
+                .refreshAfterWrite(cacheRefreshAfterWrite)
+                .negativeTtl(cacheNegativeTtl)
+                .loader(courseId -> hedgedFetchCourseByCourseId(courseId, null))
+                .bulkLoader(courseIds -> fetchCoursesByCourseIds(courseIds).map(CourseClient::untagged))
+                .reloader(this::hedgedFetchCourseByCourseId)
+                .notFoundMessage(courseId -> "CourseId not found: " + courseId)
+                .meterRegistry(meterRegistry)
                 .build();
     }
 
+    //concurrent lookups of the same courseId share one request, the cache (when enabled) already does that itself.
+    //The request is hedged when app.hedging.enabled is set
     public Mono<CourseResponseModel> getCourseByCourseId(final String courseId) {
-        return webClient.get()
-                .uri("/{courseId}", courseId)
+        if (courseCache != null) {
+            return courseCache.get(courseId).map(TaggedValue::value);
+        }
+        return courseLookups.execute(courseId, id -> hedgedFetchCourseByCourseId(id, null).map(TaggedValue::value));
+    }
+
+    private Mono<TaggedValue<CourseResponseModel>> hedgedFetchCourseByCourseId(final String courseId,
+                                                                             final TaggedValue<CourseResponseModel> cached) {
+        return courseRequests.execute(() -> fetchCourseByCourseId(courseId, cached));
+    }
+
+    //with a cached copy that has an ETag the request is conditional, and a 304 answers that same copy
+    private Mono<TaggedValue<CourseResponseModel>> fetchCourseByCourseId(final String courseId,
+                                                                       final TaggedValue<CourseResponseModel> cached) {
+        if (rsocketClient != null) {
+            return send(rsocketClient.getCourseByCourseId(courseId).map(TaggedValue::untagged));
+        }
+        return send(webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/{courseId}")
+                        .queryParam("fields", ENROLLMENT_FIELDS)
+                        .build(courseId))
+                .headers(headers -> {
+                    if (cached != null && cached.eTag() != null) {
+                        headers.setIfNoneMatch(cached.eTag());
+                    }
+                })
                 .retrieve()
                 .onStatus(HttpStatusCode::isError,
                         error -> switch(error.statusCode().value())
@@ -43,7 +154,80 @@ public class CourseClient {
                                             IllegalArgumentException("Something went wrong"));
                         }
                 )
-                .bodyToMono(CourseResponseModel.class);
+                .toEntity(CourseResponseModel.class)
+                .map(response -> response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? cached
+                        : new TaggedValue<>(response.getBody(), response.getHeaders().getETag())));
+    }
+
+    //resolves many courses with a single request, unknown ids are absent from the map
+    public Mono<Map<String, CourseResponseModel>> getCoursesByCourseIds(final Collection<String> courseIds) {
+        if (courseCache != null) {
+            return courseCache.getAll(courseIds).map(cached -> {
+                Map<String, CourseResponseModel> courses = new HashMap<>();
+                cached.forEach((courseId, course) -> courses.put(courseId, course.value()));
+                return courses;
+            });
+        }
+        return fetchCoursesByCourseIds(courseIds);
+    }
+
+    //the batch endpoint sends no ETag per course, the first refresh of these entries is a full request
+    private static Map<String, TaggedValue<CourseResponseModel>> untagged(Map<String, CourseResponseModel> courses) {
+        Map<String, TaggedValue<CourseResponseModel>> tagged = new HashMap<>();
+        courses.forEach((courseId, course) -> tagged.put(courseId, TaggedValue.untagged(course)));
+        return tagged;
+    }
+
+    private Mono<Map<String, CourseResponseModel>> fetchCoursesByCourseIds(final Collection<String> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (rsocketClient != null) {
+            return send(rsocketClient.getCoursesByCourseIds(Flux.fromIterable(courseIds))
+                    .collectMap(CourseResponseModel::getCourseId));
+        }
+        return send(webClient.get()
+                .uri(uriBuilder -> uriBuilder.queryParam("courseIds", String.join(",", courseIds))
+                        .queryParam("fields", ENROLLMENT_FIELDS)
+                        .build())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError,
+                        error -> switch(error.statusCode().value())
+                        {
+                            case 422 ->
+                                    Mono.error(new
+                                            InvalidInputException("CourseIds invalid: " + courseIds));
+                            default ->
+                                    Mono.error(new
+                                            IllegalArgumentException("Something went wrong"));
+                        }
+                )
+                .bodyToFlux(CourseResponseModel.class)
+                .collectMap(CourseResponseModel::getCourseId));
+    }
+
+    //server-sent stream of the courses updated or deleted in courses-service, completes when the connection drops
+    public Flux<CourseChangeEvent> getCourseChanges() {
+        return webClient.get()
+                .uri("/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                //the feed can stay quiet for a long time, only give up (and reconnect) after a long idle period
+                .httpRequest(httpRequest -> httpRequest.<HttpClientRequest>getNativeRequest().responseTimeout(CHANGE_FEED_IDLE_TIMEOUT))
+                .retrieve()
+                .bodyToFlux(CourseChangeEvent.class);
+    }
+
+    //drops the cached copy of a course so the next lookup reads it from courses-service again
+    public void evictCourse(final String courseId) {
+        if (courseCache != null) {
+            courseCache.invalidate(courseId);
+        }
     }
 
+    //one request to the service: waits for a slot of the concurrency limiter, then circuit breaker and retry
+    //apply around it, so every retry attempt takes its own slot
+    private <T> Mono<T> send(Mono<T> request) {
+        return resilience.execute(concurrencyLimiter.execute(() -> request));
+    }
 }
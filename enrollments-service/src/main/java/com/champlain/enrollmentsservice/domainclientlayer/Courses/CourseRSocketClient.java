@@ -0,0 +1,49 @@
+package com.champlain.enrollmentsservice.domainclientlayer.Courses;
+
+import com.champlain.enrollmentsservice.domainclientlayer.RSocketErrors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/*
+   RSocket transport to courses-service, used by CourseClient when app.courses-service.transport
+   is rsocket. A single TCP connection is opened on first use and shared by every request, it is re-established
+   with backoff when it drops. Requests and responses carry demand, so the server only produces what is consumed.
+ */
+@Service
+@ConditionalOnProperty(name = "app.courses-service.transport", havingValue = "rsocket")
+public class CourseRSocketClient {
+
+    private final RSocketRequester requester;
+
+    public CourseRSocketClient(@Value("${app.courses-service.host}") String coursesServiceHost,
+                                @Value("${app.courses-service.rsocket-port}") int coursesServiceRSocketPort,
+                                RSocketRequester.Builder requesterBuilder) {
+        this.requester = requesterBuilder
+                .rsocketConnector(connector -> connector.reconnect(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                        .maxBackoff(Duration.ofSeconds(5))))
+                .tcp(coursesServiceHost, coursesServiceRSocketPort);
+    }
+
+    //request-response
+    public Mono<CourseResponseModel> getCourseByCourseId(String courseId) {
+        return requester.route("courses.{courseId}", courseId)
+                .retrieveMono(CourseResponseModel.class)
+                .onErrorMap(RSocketErrors::toClientException);
+    }
+
+    //request-channel, the ids are sent as the courses come back
+    public Flux<CourseResponseModel> getCoursesByCourseIds(Flux<String> courseIds) {
+        return requester.route("courses.batch")
+                .data(courseIds)
+                .retrieveFlux(CourseResponseModel.class)
+                .onErrorMap(RSocketErrors::toClientException);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/*
+   Media types the downstream clients accept. Smile is binary Jackson: the same fields as the JSON body but smaller
+   and cheaper to decode. students-service and courses-service answer with it when asked, an older instance that
+   only produces JSON (or server-sent events) is still understood since the decoder follows the response Content-Type.
+ */
+public final class DownstreamMediaTypes {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    public static final List<MediaType> ACCEPTED = List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM);
+
+    private DownstreamMediaTypes() {
+    }
+}
@@ -0,0 +1,37 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Mono;
+
+/*
+   Circuit breaker and retry of one downstream service, both configured under
+   resilience4j.circuitbreaker.instances.<name> and resilience4j.retry.instances.<name> in application.yml.
+
+   Every attempt goes through the breaker, so an open breaker fails the call straight away with
+   CallNotPermittedException instead of waiting on a service that is known to be down. Retries wrap the
+   breaker and back off with jitter; only use this for idempotent GET requests.
+
+   Breaker state and not permitted calls are the resilience4j.circuitbreaker.* meters, retries the
+   resilience4j.retry.calls meter, and /actuator/circuitbreakers lists the breakers.
+ */
+public class DownstreamResilience {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    public DownstreamResilience(String name, CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+        this.retry = retryRegistry.retry(name);
+    }
+
+    public <T> Mono<T> execute(Mono<T> request) {
+        return request
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+}
@@ -0,0 +1,57 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/*
+   Single-flight for downstream lookups: while a lookup for a key is running, every other caller asking
+   for the same key subscribes to that same Mono instead of starting its own request. The entry is
+   dropped as soon as the lookup terminates, so this does not cache results, it only collapses
+   concurrent duplicates.
+
+   Counters are published as client.requests.coalesced{client=..., result=hit|miss}
+   and can be read from /actuator/metrics.
+ */
+public class InFlightRequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public InFlightRequestCoalescer(String clientName, MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("client.requests.coalesced")
+                .description("Lookups that joined a request already in flight for the same id")
+                .tag("client", clientName)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("client.requests.coalesced")
+                .description("Lookups that started a new downstream request")
+                .tag("client", clientName)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Function<? super K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            AtomicBoolean started = new AtomicBoolean();
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                started.set(true);
+                return loader.apply(k)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            (started.get() ? misses : hits).increment();
+            return shared;
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
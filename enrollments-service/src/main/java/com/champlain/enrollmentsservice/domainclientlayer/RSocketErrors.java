@@ -0,0 +1,29 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.rsocket.exceptions.CustomRSocketException;
+
+/*
+   The RSocket controllers of students-service and courses-service send NotFound and InvalidInput as custom errors
+   with these codes (the equivalent of 404 and 422), mapped back here to the exceptions the HTTP clients raise.
+ */
+public final class RSocketErrors {
+
+    public static final int NOT_FOUND_ERROR_CODE = 0x404;
+    public static final int INVALID_INPUT_ERROR_CODE = 0x422;
+
+    private RSocketErrors() {
+    }
+
+    public static Throwable toClientException(Throwable error) {
+        if (error instanceof CustomRSocketException customError) {
+            return switch (customError.errorCode()) {
+                case NOT_FOUND_ERROR_CODE -> new NotFoundException(customError.getMessage());
+                case INVALID_INPUT_ERROR_CODE -> new InvalidInputException(customError.getMessage());
+                default -> error;
+            };
+        }
+        return error;
+    }
+}
@@ -0,0 +1,90 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+   Times every downstream request and, when hedging is enabled, sends a second identical request once
+   the first one has been running for longer than the observed p95. Whichever answers first wins and the
+   other one is cancelled, so a slow tail request costs about p95 + one normal request instead of the full
+   tail. An error of the first request still wins straight away (a 404 is not retried).
+
+   Only use it for idempotent reads. The p95 is refreshed at most once per second and hedging only starts
+   after minSamples requests were timed.
+
+   Meters: client.requests{client=...} (timer with p95) and client.requests.hedged{client=...}.
+ */
+public class RequestHedger {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final long minSamples;
+    private final Timer latency;
+    private final Counter hedged;
+
+    private volatile Duration hedgeDelay;
+    private volatile long hedgeDelayComputedAt;
+
+    public RequestHedger(String clientName, boolean enabled, long minSamples, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minSamples = minSamples;
+        this.latency = Timer.builder("client.requests")
+                .description("Latency of the requests sent to the downstream service")
+                .tag("client", clientName)
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.hedged = Counter.builder("client.requests.hedged")
+                .description("Second requests sent because the first one was slower than p95")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        Mono<T> timed = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get().doOnSuccess(value -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+        if (!enabled) {
+            return timed;
+        }
+        return Mono.defer(() -> {
+            Duration delay = hedgeDelay();
+            if (delay == null) {
+                return timed;
+            }
+            return Mono.firstWithSignal(timed, Mono.delay(delay)
+                    .doOnNext(tick -> hedged.increment())
+                    .then(timed));
+        });
+    }
+
+    //null until enough requests were timed to trust the p95
+    Duration hedgeDelay() {
+        long now = System.nanoTime();
+        if (hedgeDelay == null || now - hedgeDelayComputedAt > REFRESH_NANOS) {
+            hedgeDelay = computeHedgeDelay();
+            hedgeDelayComputedAt = now;
+        }
+        return hedgeDelay;
+    }
+
+    private Duration computeHedgeDelay() {
+        if (latency.count() < minSamples) {
+            return null;
+        }
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95 && percentile.value() > 0) {
+                return Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+            }
+        }
+        return null;
+    }
+}
@@ -1,17 +1,45 @@
 package com.champlain.enrollmentsservice.domainclientlayer.Students;
 
+import com.champlain.enrollmentsservice.domainclientlayer.AdaptiveConcurrencyLimiter;
+import com.champlain.enrollmentsservice.domainclientlayer.AsyncLookupCache;
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamMediaTypes;
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamResilience;
+import com.champlain.enrollmentsservice.domainclientlayer.InFlightRequestCoalescer;
+import com.champlain.enrollmentsservice.domainclientlayer.RequestHedger;
+import com.champlain.enrollmentsservice.domainclientlayer.TaggedValue;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static java.lang.Thread.currentThread;
@@ -20,26 +48,135 @@ import static java.lang.Thread.currentThread;
 @Slf4j
 public class StudentClientAsynchronous {
 
+    //reads of the export stop while the caller is not taking students, only give up after a long idle period
+    private static final Duration EXPORT_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    //all the enrollments need of a student (studentId always comes back), students-service then does not read stuff
+    private static final String ENROLLMENT_FIELDS = "firstName,lastName";
+
     private final WebClient webClient;
 
     private final String studentClientServiceBaseURL;
 
+    private final int batchSize;
+    private final Duration batchMaxWait;
+    //windows looked up at the same time, their results are still emitted in source order
+    private final int batchConcurrency;
+
+    private final InFlightRequestCoalescer<String, StudentResponseModel> studentLookups;
+    private final RequestHedger studentRequests;
+    private final DownstreamResilience resilience;
+    //requests in flight to the service, whatever the caller's flatMap concurrency
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    //null unless app.students-service.transport is rsocket
+    private final StudentRSocketClient rsocketClient;
+    //null when app.students-service.cache.enabled is false. Entries keep the ETag of the student, so that the
+    //refresh after refresh-after-write is a conditional request answered by a 304 while the student is unchanged
+    private final AsyncLookupCache<String, TaggedValue<StudentResponseModel>> studentCache;
+
     private final List<Integer> range = IntStream.rangeClosed(1, 1000)
             .boxed()
             .toList();
 
     public StudentClientAsynchronous(@Value("${app.students-service.host}") String studentsServiceHost,
-                                     @Value("${app.students-service.port}") String studentsServicePort) {
+                                     @Value("${app.students-service.port}") String studentsServicePort,
+                                     @Value("${app.students-service.batch-size:100}") int batchSize,
+                                     @Value("${app.students-service.batch-max-wait:50ms}") Duration batchMaxWait,
+                                     @Value("${app.students-service.batch-concurrency:8}") int batchConcurrency,
+                                     @Value("${app.students-service.cache.enabled:false}") boolean cacheEnabled,
+                                     @Value("${app.students-service.cache.maximum-size:10000}") long cacheMaximumSize,
+                                     @Value("${app.students-service.cache.expire-after-write:10m}") Duration cacheExpireAfterWrite,
+                                     @Value("${app.students-service.cache.refresh-after-write:5m}") Duration cacheRefreshAfterWrite,
+                                     @Value("${app.students-service.cache.negative-ttl:30s}") Duration cacheNegativeTtl,
+                                     @Value("${app.hedging.enabled:false}") boolean hedgingEnabled,
+                                     @Value("${app.hedging.min-samples:100}") long hedgingMinSamples,
+                                     @Value("${app.students-service.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${app.students-service.response-timeout:3s}") Duration responseTimeout,
+                                     @Value("${app.concurrency-limit.enabled:true}") boolean concurrencyLimitEnabled,
+                                     @Value("${app.concurrency-limit.initial-limit:20}") int concurrencyInitialLimit,
+                                     @Value("${app.concurrency-limit.max-limit:200}") int concurrencyMaxLimit,
+                                     @Value("${app.concurrency-limit.latency-tolerance:2.0}") double concurrencyLatencyTolerance,
+                                     HttpClient downstreamHttpClient,
+                                     ObjectProvider<StudentRSocketClient> rsocketClient,
+                                     MeterRegistry meterRegistry,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     RetryRegistry retryRegistry) {
+        this.batchSize = batchSize;
+        this.batchMaxWait = batchMaxWait;
+        this.batchConcurrency = batchConcurrency;
+        this.studentLookups = new InFlightRequestCoalescer<>("students-service", meterRegistry);
+        this.studentRequests = new RequestHedger("students-service", hedgingEnabled, hedgingMinSamples, meterRegistry);
+        this.resilience = new DownstreamResilience("students-service", circuitBreakerRegistry, retryRegistry);
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.builder()
+                .clientName("students-service")
+                .enabled(concurrencyLimitEnabled)
+                .initialLimit(concurrencyInitialLimit)
+                .minLimit(1)
+                .maxLimit(concurrencyMaxLimit)
+                .tolerance(concurrencyLatencyTolerance)
+                .backoffRatio(0.9)
+                .meterRegistry(meterRegistry)
+                .build();
+        this.rsocketClient = rsocketClient.getIfAvailable();
+        this.studentCache = !cacheEnabled ? null : AsyncLookupCache.<String, TaggedValue<StudentResponseModel>>builder()
+                .cacheName("students")
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheExpireAfterWrite)
+                .refreshAfterWrite(cacheRefreshAfterWrite)
+                .negativeTtl(cacheNegativeTtl)
+                .loader(studentId -> hedgedFetchStudentByStudentId(studentId, ENROLLMENT_FIELDS, null))
+                .bulkLoader(studentIds -> fetchStudentsByStudentIds(studentIds).map(StudentClientAsynchronous::untagged))
+                .reloader((studentId, cached) -> hedgedFetchStudentByStudentId(studentId, ENROLLMENT_FIELDS, cached))
+                .notFoundMessage(studentId -> "StudentId not found: " + studentId)
+                .meterRegistry(meterRegistry)
+                .build();
         studentClientServiceBaseURL = "http://" + studentsServiceHost + ":" + studentsServicePort + "/api/v1/students";
 
         this.webClient = WebClient.builder()
                 .baseUrl(studentClientServiceBaseURL)
+                .clientConnector(new ReactorClientHttpConnector(downstreamHttpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                        .responseTimeout(responseTimeout)))
+                .defaultHeaders(headers -> headers.setAccept(DownstreamMediaTypes.ACCEPTED))
                 .build();
     }
 
+    //the names of a student, for enrollments. Concurrent lookups of the same studentId share one request (the cache,
+    //when enabled, already does that itself), which is hedged when app.hedging.enabled is set
     public Mono<StudentResponseModel> getStudentByStudentId(String studentId) {
-        return webClient.get()
-                .uri(studentClientServiceBaseURL + "/{studentId}", studentId)
+        if (studentCache != null) {
+            return studentCache.get(studentId).map(TaggedValue::value);
+        }
+        return studentLookups.execute(studentId,
+                id -> hedgedFetchStudentByStudentId(id, ENROLLMENT_FIELDS, null).map(TaggedValue::value));
+    }
+
+    //every field of a student
+    public Mono<StudentResponseModel> getStudentDetailsByStudentId(String studentId) {
+        return hedgedFetchStudentByStudentId(studentId, null, null).map(TaggedValue::value);
+    }
+
+    private Mono<TaggedValue<StudentResponseModel>> hedgedFetchStudentByStudentId(String studentId, String fields,
+                                                                                TaggedValue<StudentResponseModel> cached) {
+        return studentRequests.execute(() -> fetchStudentByStudentId(studentId, fields, cached));
+    }
+
+    //fields: comma separated list of the fields to read, all of them when null (the RSocket routes always send all).
+    //With a cached copy that has an ETag the request is conditional, and a 304 answers that same copy
+    private Mono<TaggedValue<StudentResponseModel>> fetchStudentByStudentId(String studentId, String fields,
+                                                                          TaggedValue<StudentResponseModel> cached) {
+        if (rsocketClient != null) {
+            return send(rsocketClient.getStudentByStudentId(studentId).map(TaggedValue::untagged));
+        }
+        return send(webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/{studentId}")
+                        .queryParamIfPresent("fields", Optional.ofNullable(fields))
+                        .build(studentId))
+                .headers(headers -> {
+                    if (cached != null && cached.eTag() != null) {
+                        headers.setIfNoneMatch(cached.eTag());
+                    }
+                })
                 .retrieve()
                 .onStatus(HttpStatusCode::isError,
                         error -> switch (error.statusCode().value()) {
@@ -58,7 +195,76 @@ public class StudentClientAsynchronous {
 //                        return Mono.error(new InvalidInputException("StudentId invalid: " + studentId));
 //                    return Mono.error(new IllegalArgumentException("Something went wrong"));
 //                })
-                .bodyToMono(StudentResponseModel.class);
+                .toEntity(StudentResponseModel.class)
+                .map(response -> response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? cached
+                        : new TaggedValue<>(response.getBody(), response.getHeaders().getETag())));
+    }
+
+    //resolves many students with a single request, unknown ids are absent from the map
+    public Mono<Map<String, StudentResponseModel>> getStudentsByStudentIds(Collection<String> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (studentCache != null) {
+            return studentCache.getAll(studentIds).map(cached -> {
+                Map<String, StudentResponseModel> students = new HashMap<>();
+                cached.forEach((studentId, student) -> students.put(studentId, student.value()));
+                return students;
+            });
+        }
+        return fetchStudentsByStudentIds(studentIds);
+    }
+
+    //the batch endpoint sends no ETag per student, the first refresh of these entries is a full request
+    private static Map<String, TaggedValue<StudentResponseModel>> untagged(Map<String, StudentResponseModel> students) {
+        Map<String, TaggedValue<StudentResponseModel>> tagged = new HashMap<>();
+        students.forEach((studentId, student) -> tagged.put(studentId, TaggedValue.untagged(student)));
+        return tagged;
+    }
+
+    private Mono<Map<String, StudentResponseModel>> fetchStudentsByStudentIds(Collection<String> studentIds) {
+        if (rsocketClient != null) {
+            return send(rsocketClient.getStudentsByStudentIds(Flux.fromIterable(studentIds))
+                    .collectMap(StudentResponseModel::getStudentId));
+        }
+        return send(webClient.get()
+                .uri(uriBuilder -> uriBuilder.queryParam("studentIds", String.join(",", studentIds))
+                        .queryParam("fields", ENROLLMENT_FIELDS)
+                        .build())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError,
+                        error -> switch (error.statusCode().value()) {
+                            case 422 -> Mono.error(new InvalidInputException("StudentIds invalid: " + studentIds));
+                            default -> Mono.error(new IllegalArgumentException("Something went wrong"));
+                        })
+                .bodyToFlux(StudentResponseModel.class)
+                .collectMap(StudentResponseModel::getStudentId));
+    }
+
+    /*
+       Groups the source into windows of at most batchSize elements (or whatever arrived within batchMaxWait)
+       and resolves the distinct studentIds of each window with one call to getStudentsByStudentIds. Up to
+       batchConcurrency windows are looked up at once, and they are emitted in source order together with the
+       students found for them.
+     */
+    public <T> Flux<Tuple2<List<T>, Map<String, StudentResponseModel>>> getStudentsInBatches(Flux<T> source,
+                                                                                           Function<T, String> studentIdMapper) {
+        return getStudentsInBatches(source, studentIdMapper,
+                (window, students) -> students.map(found -> Tuples.of(window, found)));
+    }
+
+    //same as above, each window and the lookup of its students go through windowLookup, which can add a timeout or
+    //a fallback and run other lookups for the same window at the same time. Its results are emitted in window order
+    public <T, R> Flux<R> getStudentsInBatches(
+            Flux<T> source,
+            Function<T, String> studentIdMapper,
+            BiFunction<List<T>, Mono<Map<String, StudentResponseModel>>, Publisher<R>> windowLookup) {
+        return source
+                .bufferTimeout(batchSize, batchMaxWait)
+                .flatMapSequential(window -> windowLookup.apply(window, getStudentsByStudentIds(window.stream()
+                                .map(studentIdMapper)
+                                .collect(Collectors.toSet()))), batchConcurrency);
     }
 
     /*
@@ -74,9 +280,17 @@ public class StudentClientAsynchronous {
 
 
     public Flux<StudentResponseModel> getAllStudents() {
+        if (rsocketClient != null) {
+            //request-stream, students-service only sends what this side has asked for
+            return rsocketClient.getAllStudents();
+        }
+        //NDJSON export, decoded one line at a time: the catalog is never held in memory on either side and the
+        //caller's demand slows down the reads from students-service
         return this.webClient
             .get()
-            .uri(studentClientServiceBaseURL)
+            .uri(studentClientServiceBaseURL + "/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .httpRequest(httpRequest -> httpRequest.<HttpClientRequest>getNativeRequest().responseTimeout(EXPORT_IDLE_TIMEOUT))
                 .retrieve()
             .bodyToFlux(StudentResponseModel.class);
     }
@@ -86,10 +300,11 @@ public class StudentClientAsynchronous {
    //log.debug(String.format("Calling getStudentAsync(%d)", id));
 
 
-        return webClient.get()
+        //the 1000 calls of get1000StudentsAsync* only get as many requests in flight as the limiter allows
+        return concurrencyLimiter.execute(() -> webClient.get()
                 .uri(studentClientServiceBaseURL + "/row/{id}", id)
                 .retrieve()
-                .bodyToMono(StudentResponseModel.class);
+                .bodyToMono(StudentResponseModel.class));
 
     }
     public Flux<StudentResponseModel> get1000StudentsAsync() {
@@ -167,4 +382,10 @@ enrollments-service  | 2024-08-13T19:27:24.622Z  INFO 1 --- [enrollments-service
                 .doOnNext(s -> log.info("Current thread running " + currentThread()))
                 .subscribeOn(Schedulers.boundedElastic());
     }
+
+    //one request to the service: waits for a slot of the concurrency limiter, then circuit breaker and retry
+    //apply around it, so every retry attempt takes its own slot
+    private <T> Mono<T> send(Mono<T> request) {
+        return resilience.execute(concurrencyLimiter.execute(() -> request));
+    }
 }
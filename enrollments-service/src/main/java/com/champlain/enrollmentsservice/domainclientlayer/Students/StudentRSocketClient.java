@@ -0,0 +1,56 @@
+package com.champlain.enrollmentsservice.domainclientlayer.Students;
+
+import com.champlain.enrollmentsservice.domainclientlayer.RSocketErrors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/*
+   RSocket transport to students-service, used by StudentClientAsynchronous when app.students-service.transport
+   is rsocket. A single TCP connection is opened on first use and shared by every request, it is re-established
+   with backoff when it drops. Requests and responses carry demand, so the server only produces what is consumed.
+ */
+@Service
+@ConditionalOnProperty(name = "app.students-service.transport", havingValue = "rsocket")
+public class StudentRSocketClient {
+
+    private final RSocketRequester requester;
+
+    public StudentRSocketClient(@Value("${app.students-service.host}") String studentsServiceHost,
+                                @Value("${app.students-service.rsocket-port}") int studentsServiceRSocketPort,
+                                RSocketRequester.Builder requesterBuilder) {
+        this.requester = requesterBuilder
+                .rsocketConnector(connector -> connector.reconnect(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                        .maxBackoff(Duration.ofSeconds(5))))
+                .tcp(studentsServiceHost, studentsServiceRSocketPort);
+    }
+
+    //request-response
+    public Mono<StudentResponseModel> getStudentByStudentId(String studentId) {
+        return requester.route("students.{studentId}", studentId)
+                .retrieveMono(StudentResponseModel.class)
+                .onErrorMap(RSocketErrors::toClientException);
+    }
+
+    //request-channel, the ids are sent as the students come back
+    public Flux<StudentResponseModel> getStudentsByStudentIds(Flux<String> studentIds) {
+        return requester.route("students.batch")
+                .data(studentIds)
+                .retrieveFlux(StudentResponseModel.class)
+                .onErrorMap(RSocketErrors::toClientException);
+    }
+
+    //request-stream
+    public Flux<StudentResponseModel> getAllStudents() {
+        return requester.route("students")
+                .retrieveFlux(StudentResponseModel.class)
+                .onErrorMap(RSocketErrors::toClientException);
+    }
+
+}
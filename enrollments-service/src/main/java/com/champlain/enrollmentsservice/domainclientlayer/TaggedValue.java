@@ -0,0 +1,9 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+//a downstream answer with the ETag it came with (null when it had none), so a cached copy can be revalidated
+public record TaggedValue<V>(V value, String eTag) {
+
+    public static <V> TaggedValue<V> untagged(V value) {
+        return new TaggedValue<>(value, null);
+    }
+}
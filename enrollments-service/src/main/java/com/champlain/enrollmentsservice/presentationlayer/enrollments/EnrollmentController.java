@@ -1,38 +1,97 @@
 package com.champlain.enrollmentsservice.presentationlayer.enrollments;
 
 import com.champlain.enrollmentsservice.businesslayer.enrollments.EnrollmentService;
+import com.champlain.enrollmentsservice.businesslayer.enrollments.ReadConsistency;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.utils.EntityTags;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+
 @RestController
 @Slf4j
 @RequestMapping("/api/v1/enrollments")
 public class EnrollmentController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final EnrollmentService enrollmentService;
 
     public EnrollmentController(EnrollmentService enrollmentService) {
         this.enrollmentService = enrollmentService;
     }
 
+    /*
+       Keyset paginated stream ordered by _id, optionally filtered by studentId, courseId and a term (enrollmentYear and
+       semester, always given together).
+       Every event carries the opaque cursor of its enrollment as the SSE id: pass the last one back as ?after= to get
+       the next page, or let an SSE client resume with Last-Event-ID. Without limit the stream runs to the end.
+     */
     @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<EnrollmentResponseModel> getAllEnrollments() {
-        return enrollmentService.getAllEnrollments();
+    public Flux<ServerSentEvent<EnrollmentResponseModel>> getAllEnrollments(@RequestParam(required = false) String studentId,
+                                                                           @RequestParam(required = false) String courseId,
+                                                                           @RequestParam(required = false) Integer enrollmentYear,
+                                                                           @RequestParam(required = false) String semester,
+                                                                           @RequestParam(required = false) Integer limit,
+                                                                           @RequestParam(required = false) String after,
+                                                                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                                           @RequestParam(required = false) String consistency) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) { //validate the page size
+            return Flux.error(new InvalidInputException("Invalid limit: " + limit + ", expected 1 to " + MAX_PAGE_SIZE));
+        }
+        return Mono.fromCallable(() -> toEnrollmentFilter(studentId, courseId, enrollmentYear, semester))
+                .flatMapMany(filter -> enrollmentService.getEnrollmentsPage(filter, after != null ? after : lastEventId, limit,
+                        consistency == null ? ReadConsistency.LIVE : ReadConsistency.fromValue(consistency)))
+                .map(page -> ServerSentEvent.builder(page.getT2())
+                        .id(page.getT1())
+                        .build());
     }
 
+    //answered with 304 and no body when If-None-Match has the ETag of the enrollment as it would be returned
     @GetMapping(value = "/{enrollmentId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<EnrollmentResponseModel>> getEnrollmentByEnrollmentId(@PathVariable String enrollmentId) {
+    public Mono<ResponseEntity<EnrollmentResponseModel>> getEnrollmentByEnrollmentId(@PathVariable String enrollmentId,
+                                                                                     @RequestParam(required = false) String consistency) {
         return Mono.just(enrollmentId)
                 .filter(id -> id.length() == 36) //validate the enrollment id
                 .switchIfEmpty(Mono.error(new InvalidInputException("Invalid enrollment id: " + enrollmentId)))
-                .flatMap(enrollmentService::getEnrollmentByEnrollmentId)
-                .map(ResponseEntity::ok);
+                .flatMap(id -> consistency == null
+                        ? enrollmentService.getEnrollmentByEnrollmentId(id)
+                        : enrollmentService.getEnrollmentByEnrollmentId(id, ReadConsistency.fromValue(consistency)))
+                .map(enrollment -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(enrollment))
+                        .body(enrollment));
+    }
+
+    private static EnrollmentFilter toEnrollmentFilter(String studentId, String courseId, Integer enrollmentYear, String semester) {
+        if (studentId != null && studentId.length() != 36) { //validate the student id
+            throw new InvalidInputException("Invalid student id: " + studentId);
+        }
+        if (courseId != null && courseId.length() != 36) { //validate the course id
+            throw new InvalidInputException("Invalid course id: " + courseId);
+        }
+        Semester term = semester == null ? null : Arrays.stream(Semester.values())
+                .filter(value -> value.name().equalsIgnoreCase(semester))
+                .findFirst()
+                .orElseThrow(() -> new InvalidInputException("Invalid semester: " + semester));
+        //only a whole term is a prefix of the compound indexes, half of one would be a collection scan or an in memory sort
+        if ((enrollmentYear == null) != (term == null)) {
+            throw new InvalidInputException("enrollmentYear and semester must be given together");
+        }
+        return EnrollmentFilter.builder()
+                .studentId(studentId)
+                .courseId(courseId)
+                .enrollmentYear(enrollmentYear)
+                .semester(term)
+                .build();
     }
 
     @PostMapping(value = "", produces = "application/json", consumes = "application/json")
@@ -42,6 +101,16 @@ public class EnrollmentController {
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
 
+    /*
+       Bulk import, one enrollment request per NDJSON line. The response streams one result per record, in the
+       order of the request and while it is still being read, then a last COMPLETED line with the totals and the
+       records per second. Invalid or failed records do not stop the import.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EnrollmentImportResult> importEnrollments(@RequestBody Flux<EnrollmentRequestModel> enrollmentRequestModels) {
+        return enrollmentService.importEnrollments(enrollmentRequestModels);
+    }
+
     @PutMapping(value = "/{enrollmentId}", produces = "application/json", consumes = "application/json")
     public Mono<ResponseEntity<EnrollmentResponseModel>> updateEnrollmentByEnrollmentId(@RequestBody Mono<EnrollmentRequestModel> enrollmentRequestModel, @PathVariable String enrollmentId) {
         return Mono.just(enrollmentId)
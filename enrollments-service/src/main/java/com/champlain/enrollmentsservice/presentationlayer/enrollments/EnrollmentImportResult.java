@@ -0,0 +1,41 @@
+package com.champlain.enrollmentsservice.presentationlayer.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+   One line of the response of a bulk import: the outcome of the record at position record (from 1), then a
+   last COMPLETED line with the totals and the throughput of the whole import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnrollmentImportResult {
+
+    public enum Status {
+        //inserted, enrollmentId is the id it was given
+        CREATED,
+        //missing or invalid field, unknown student or course, nothing was written
+        INVALID,
+        //the lookups or the write failed, the record can be sent again
+        FAILED,
+        //summary, the last line
+        COMPLETED
+    }
+
+    private Long record;
+    private Status status;
+    private String enrollmentId;
+    private String message;
+
+    //COMPLETED only
+    private Long created;
+    private Long invalid;
+    private Long failed;
+    private Long recordsPerSecond;
+}
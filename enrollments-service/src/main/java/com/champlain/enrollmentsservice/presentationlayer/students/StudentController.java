@@ -27,7 +27,7 @@ public class StudentController {
     }
 
     //@GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @GetMapping(value = "", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     public Flux<StudentResponseModel> getAllStudents() {
         return studentService.getAllStudents();
     }
@@ -5,6 +5,7 @@ import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
 import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -44,6 +45,8 @@ public class DataLoaderService implements CommandLineRunner {
 
         Flux.just(enrollment1, enrollment2)
                 .flatMap(s -> enrollmentRepository.insert(Mono.just(s))
+                        //enrollmentId is unique, the sample enrollments are already there after a restart
+                        .onErrorResume(DuplicateKeyException.class, e -> Flux.empty())
                         .log(s.toString()))
                 .subscribe();  //if you don't subscribe, nothing happens
     }
@@ -0,0 +1,16 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+//strong ETags for the GET by id endpoints, answered with 304 Not Modified when the client sends the same one in If-None-Match.
+//Strong, since the enrollments are only served as JSON
+public class EntityTags {
+
+    //the response models are Lombok @Data classes whose toString lists every field, so the tag changes exactly when
+    //one of the values does, without serializing the body to hash it
+    public static String of(Object responseModel) {
+        return "\"" + DigestUtils.md5DigestAsHex(responseModel.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
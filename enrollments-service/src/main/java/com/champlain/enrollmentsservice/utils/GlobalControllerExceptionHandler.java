@@ -2,6 +2,7 @@ package com.champlain.enrollmentsservice.utils;
 
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @RestControllerAdvice
@@ -29,6 +31,13 @@ public class GlobalControllerExceptionHandler {
     }
 
 
+    //a downstream circuit breaker is open, fail fast instead of waiting on a service that is down
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ExceptionHandler(CallNotPermittedException.class)
+    public HttpErrorInfo handleCallNotPermittedException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(SERVICE_UNAVAILABLE, request, ex);
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, ServerHttpRequest request, Exception ex) {
         final String path = request.getPath().value();
         // final String path = request.getPath().pathWithinApplication().value();
@@ -0,0 +1,41 @@
+package com.champlain.enrollmentsservice.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+   36 character ids laid out like a UUIDv7 (RFC 9562): 48 bits of unix milliseconds, the version, a 12 bit
+   counter, the variant and 62 random bits. Ids created later sort after the ones created before, as UUIDs and
+   as strings, so new rows are appended at the end of the unique indexes instead of landing on a random page.
+
+   The counter makes the ids of one process strictly increasing: it restarts from 0 each millisecond and, past
+   4096 ids in the same millisecond, carries into the timestamp, which then runs slightly ahead of the clock.
+   Time and counter are advanced with a single compare-and-set, without a lock.
+   The random bits come from ThreadLocalRandom, not SecureRandom like UUID.randomUUID(): the ids are not secrets,
+   they only have to be unique.
+ */
+public final class TimeOrderedIds {
+
+    private static final int COUNTER_BITS = 12;
+
+    //unix milliseconds << COUNTER_BITS | counter of the last id
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private TimeOrderedIds() {
+    }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    public static UUID nextUuid() {
+        long timeAndCounter = lastTimeAndCounter.updateAndGet(
+                last -> Math.max(last + 1, System.currentTimeMillis() << COUNTER_BITS));
+        long millis = timeAndCounter >>> COUNTER_BITS;
+        long counter = timeAndCounter & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = millis << 16 | 0x7000L | counter;
+        long leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2 | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
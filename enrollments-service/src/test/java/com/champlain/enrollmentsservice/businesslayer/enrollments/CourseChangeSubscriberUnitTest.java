@@ -0,0 +1,64 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseChangeEvent;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseChangeSubscriberUnitTest {
+    @InjectMocks
+    private CourseChangeSubscriber courseChangeSubscriber;
+    @Mock
+    private CourseClient courseClient;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    private final String courseId = UUID.randomUUID().toString();
+
+    @Test
+    void whenCourseUpdated_thenAllEnrollmentsOfTheCourseUpdatedAtOnce() {
+        CourseChangeEvent change = CourseChangeEvent.builder()
+                .changeType(CourseChangeEvent.ChangeType.UPDATED)
+                .courseId(courseId)
+                .courseNumber("cat-423")
+                .courseName("Web Services Testing")
+                .build();
+
+        when(enrollmentRepository.updateCourseDetailsByCourseId(courseId, "cat-423", "Web Services Testing"))
+                .thenReturn(Mono.just(3L));
+
+        StepVerifier.create(courseChangeSubscriber.applyChange(change))
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(courseClient).evictCourse(courseId);
+    }
+
+    @Test
+    void whenCourseDeleted_thenEnrollmentsKeepTheirSnapshot() {
+        CourseChangeEvent change = CourseChangeEvent.builder()
+                .changeType(CourseChangeEvent.ChangeType.DELETED)
+                .courseId(courseId)
+                .build();
+
+        StepVerifier.create(courseChangeSubscriber.applyChange(change))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(courseClient).evictCourse(courseId);
+        verifyNoInteractions(enrollmentRepository);
+    }
+}
@@ -1,29 +1,50 @@
 package com.champlain.enrollmentsservice.businesslayer.enrollments;
 
 import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
 import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentWriteCoalescer;
 import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseClient;
 import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseResponseModel;
 import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentClientAsynchronous;
 import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentResponseModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResult;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 @ExtendWith(MockitoExtension.class)
 class EnrollmentServiceUnitTest {
-    @InjectMocks
     private EnrollmentServiceImpl enrollmentService;
     @Mock
     private EnrollmentRepository enrollmentRepository;
@@ -50,6 +71,13 @@ class EnrollmentServiceUnitTest {
             .courseId("courseExample")
             .build();
 
+    @BeforeEach
+    void setUp() {
+        enrollmentService = new EnrollmentServiceImpl(studentClient, courseClient, enrollmentRepository,
+                new EnrollmentWriteCoalescer(enrollmentRepository, false, 100, Duration.ofMillis(5), 4, new SimpleMeterRegistry()),
+                Duration.ofSeconds(2), 2, Duration.ofSeconds(1), 4);
+    }
+
     //Code Along
     @Test
     public void whenGetEnrollmentById_thenReturnEnrollment() {
@@ -123,9 +151,8 @@ class EnrollmentServiceUnitTest {
                 enrollment.getCourseName()
         );
 
-        when(enrollmentRepository.findEnrollmentByEnrollmentId(enrollment.getEnrollmentId()))
+        when(enrollmentRepository.deleteEnrollmentByEnrollmentId(enrollment.getEnrollmentId()))
                 .thenReturn(Mono.just(enrollment));
-        when(enrollmentRepository.delete(enrollment)).thenReturn(Mono.empty());
 
         Mono<EnrollmentResponseModel> result = enrollmentService.deleteEnrollmentByEnrollmentId(enrollment.getEnrollmentId());
 
@@ -134,4 +161,300 @@ class EnrollmentServiceUnitTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void whenDeleteNonExistingEnrollment_thenNotFoundException() {
+        when(enrollmentRepository.deleteEnrollmentByEnrollmentId("missing"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(enrollmentService.deleteEnrollmentByEnrollmentId("missing"))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    public void whenUpdateEnrollment_thenSingleFindAndModifyOnEnrollmentId() {
+        StudentResponseModel studentResponse = StudentResponseModel.builder()
+                .studentId(enrollment1.getStudentId())
+                .firstName("John")
+                .lastName("Pork")
+                .build();
+        CourseResponseModel courseResponse = CourseResponseModel.builder()
+                .courseId(enrollment1.getCourseId())
+                .courseNumber("CSJava101")
+                .courseName("Java1")
+                .build();
+        EnrollmentRequestModel requestModel = EnrollmentRequestModel.builder()
+                .enrollmentYear(2024)
+                .semester(Semester.WINTER)
+                .studentId(enrollment1.getStudentId())
+                .courseId(enrollment1.getCourseId())
+                .build();
+
+        when(studentClient.getStudentByStudentId(enrollment1.getStudentId())).thenReturn(Mono.just(studentResponse));
+        when(courseClient.getCourseByCourseId(enrollment1.getCourseId())).thenReturn(Mono.just(courseResponse));
+        when(enrollmentRepository.updateEnrollmentByEnrollmentId(eq(enrollment1.getEnrollmentId()), any(Enrollment.class)))
+                .thenAnswer(invocation -> {
+                    Enrollment updated = invocation.getArgument(1);
+                    updated.setEnrollmentId(invocation.getArgument(0));
+                    return Mono.just(updated);
+                });
+
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(requestModel), enrollment1.getEnrollmentId()))
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getEnrollmentId().equals(enrollment1.getEnrollmentId())
+                                && enrollmentResponseModel.getSemester() == Semester.WINTER
+                                && enrollmentResponseModel.getCourseName().equals("Java1"))
+                .verifyComplete();
+
+        verify(enrollmentRepository, never()).findEnrollmentByEnrollmentId(any());
+    }
+
+    @Test
+    public void whenGetAllEnrollments_thenStudentsAndCoursesResolvedPerWindow() {
+
+        StudentResponseModel student1 = StudentResponseModel.builder()
+                .studentId(enrollment1.getStudentId())
+                .firstName("John")
+                .lastName("Pork")
+                .build();
+        StudentResponseModel student2 = StudentResponseModel.builder()
+                .studentId(enrollment2.getStudentId())
+                .firstName("Jane")
+                .lastName("Doe")
+                .build();
+        CourseResponseModel courseResponse = CourseResponseModel.builder()
+                .courseId(enrollment1.getCourseId())
+                .courseNumber("CSJava101")
+                .courseName("Java1")
+                .build();
+
+        when(enrollmentRepository.findAll()).thenReturn(Flux.just(enrollment1, enrollment2));
+        //the whole source fits in a single window
+        when(studentClient.getStudentsInBatches(any(), any(), any())).thenAnswer(invocation -> {
+            Flux<Enrollment> source = invocation.getArgument(0);
+            BiFunction<List<Enrollment>, Mono<Map<String, StudentResponseModel>>, Publisher<Enrollment>> windowLookup =
+                    invocation.getArgument(2);
+            return source.collectList()
+                    .flatMapMany(window -> windowLookup.apply(window, Mono.just(Map.of(
+                                    student1.getStudentId(), student1,
+                                    student2.getStudentId(), student2))));
+        });
+        when(courseClient.getCoursesByCourseIds(Set.of(enrollment1.getCourseId())))
+                .thenReturn(Mono.just(Map.of(courseResponse.getCourseId(), courseResponse)));
+
+        StepVerifier.create(enrollmentService.getAllEnrollments())
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("John")
+                                && enrollmentResponseModel.getCourseName().equals("Java1"))
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("Jane")
+                                && enrollmentResponseModel.getCourseName().equals("Java1"))
+                .verifyComplete();
+
+        verify(studentClient, times(1)).getStudentsInBatches(any(), any(), any());
+        verify(courseClient, times(1)).getCoursesByCourseIds(Set.of(enrollment1.getCourseId()));
+    }
+
+    @Test
+    public void whenGetAllEnrollments_thenCourseLookupStartsBeforeStudentsAnswer() {
+        StudentResponseModel student1 = StudentResponseModel.builder()
+                .studentId(enrollment1.getStudentId())
+                .firstName("John")
+                .build();
+        CourseResponseModel courseResponse = CourseResponseModel.builder()
+                .courseId(enrollment1.getCourseId())
+                .courseName("Java1")
+                .build();
+        //the students only answer once the course lookup of the same window is under way
+        Sinks.One<Map<String, StudentResponseModel>> students = Sinks.one();
+
+        when(enrollmentRepository.findAll()).thenReturn(Flux.just(enrollment1));
+        when(studentClient.getStudentsInBatches(any(), any(), any())).thenAnswer(invocation -> {
+            Flux<Enrollment> source = invocation.getArgument(0);
+            BiFunction<List<Enrollment>, Mono<Map<String, StudentResponseModel>>, Publisher<Enrollment>> windowLookup =
+                    invocation.getArgument(2);
+            return source.collectList().flatMapMany(window -> windowLookup.apply(window, students.asMono()));
+        });
+        when(courseClient.getCoursesByCourseIds(Set.of(enrollment1.getCourseId())))
+                .thenReturn(Mono.just(Map.of(courseResponse.getCourseId(), courseResponse))
+                        .doOnSubscribe(subscription -> students.tryEmitValue(Map.of(student1.getStudentId(), student1))));
+
+        StepVerifier.create(enrollmentService.getAllEnrollments())
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("John")
+                                && enrollmentResponseModel.getCourseName().equals("Java1"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void whenGetAllEnrollmentsWithSnapshot_thenNoDownstreamCalls() {
+        enrollment1.setStudentFirstName("Stored");
+        enrollment1.setCourseName("Stored course");
+
+        when(enrollmentRepository.findAll()).thenReturn(Flux.just(enrollment1, enrollment2));
+
+        StepVerifier.create(enrollmentService.getAllEnrollments(ReadConsistency.SNAPSHOT))
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("Stored")
+                                && enrollmentResponseModel.getCourseName().equals("Stored course"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verifyNoInteractions(studentClient, courseClient);
+    }
+
+    @Test
+    public void whenGetEnrollmentByIdLiveAndCourseServiceDown_thenStoredCourseReturned() {
+        enrollment1.setCourseNumber("CSStored");
+        enrollment1.setCourseName("Stored course");
+        StudentResponseModel studentResponse = StudentResponseModel.builder()
+                .studentId(enrollment1.getStudentId())
+                .firstName("John")
+                .lastName("Pork")
+                .build();
+
+        when(enrollmentRepository.findEnrollmentByEnrollmentId(enrollment1.getEnrollmentId()))
+                .thenReturn(Mono.just(enrollment1));
+        when(studentClient.getStudentByStudentId(enrollment1.getStudentId()))
+                .thenReturn(Mono.just(studentResponse));
+        when(courseClient.getCourseByCourseId(enrollment1.getCourseId()))
+                .thenReturn(Mono.error(new IllegalArgumentException("Something went wrong")));
+
+        StepVerifier.create(enrollmentService.getEnrollmentByEnrollmentId(enrollment1.getEnrollmentId(), ReadConsistency.LIVE))
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("John")
+                                && enrollmentResponseModel.getCourseNumber().equals("CSStored")
+                                && enrollmentResponseModel.getCourseName().equals("Stored course"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenGetEnrollmentsPageAfterCursor_thenPageStartsAfterDecodedId() {
+        String afterId = "65f1c0a2e4b0a1b2c3d4e5f6";
+        Enrollment enrollment = Enrollment.builder()
+                .id("65f1c0a2e4b0a1b2c3d4e5f7")
+                .enrollmentId(UUID.randomUUID().toString())
+                .build();
+
+        when(enrollmentRepository.findPage(EnrollmentFilter.builder().build(), afterId, 1)).thenReturn(Flux.just(enrollment));
+
+        StepVerifier.create(enrollmentService.getEnrollmentsPage(EnrollmentFilter.builder().build(), EnrollmentCursor.encode(afterId), 1, ReadConsistency.SNAPSHOT))
+                .expectNextMatches(page -> EnrollmentCursor.decode(page.getT1()).equals(enrollment.getId())
+                        && page.getT2().getEnrollmentId().equals(enrollment.getEnrollmentId()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenGetEnrollmentsPageWithInvalidCursor_thenInvalidInputException() {
+        StepVerifier.create(enrollmentService.getEnrollmentsPage(EnrollmentFilter.builder().build(), "not-a-cursor", 10, ReadConsistency.SNAPSHOT))
+                .expectError(InvalidInputException.class)
+                .verify();
+
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    public void whenAddEnrollment_thenStudentAndCourseLookedUpConcurrently() {
+        EnrollmentRequestModel requestModel = EnrollmentRequestModel.builder()
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .studentId(enrollment1.getStudentId())
+                .courseId(enrollment1.getCourseId())
+                .build();
+        Sinks.One<StudentResponseModel> studentResponse = Sinks.one();
+        AtomicBoolean courseRequested = new AtomicBoolean();
+
+        when(studentClient.getStudentByStudentId(enrollment1.getStudentId())).thenReturn(studentResponse.asMono());
+        when(courseClient.getCourseByCourseId(enrollment1.getCourseId())).thenReturn(Mono.fromCallable(() -> {
+            courseRequested.set(true);
+            return CourseResponseModel.builder()
+                    .courseId(enrollment1.getCourseId())
+                    .courseName("Java1")
+                    .build();
+        }));
+        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(requestModel)))
+                //the course lookup must not wait for the student lookup
+                .then(() -> assertTrue(courseRequested.get()))
+                .then(() -> studentResponse.tryEmitValue(StudentResponseModel.builder()
+                        .studentId(enrollment1.getStudentId())
+                        .firstName("John")
+                        .build()))
+                .expectNextMatches(enrollmentResponseModel ->
+                        enrollmentResponseModel.getStudentFirstName().equals("John")
+                                && enrollmentResponseModel.getCourseName().equals("Java1"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenImportEnrollments_thenOneResultPerRecordInOrderThenSummary() {
+        String studentId = UUID.randomUUID().toString();
+        String unknownStudentId = UUID.randomUUID().toString();
+        String courseId = UUID.randomUUID().toString();
+
+        when(studentClient.getStudentsByStudentIds(Set.of(studentId, unknownStudentId))).thenReturn(Mono.just(Map.of(studentId,
+                StudentResponseModel.builder().studentId(studentId).firstName("John").lastName("Pork").build())));
+        when(courseClient.getCoursesByCourseIds(Set.of(courseId))).thenReturn(Mono.just(Map.of(courseId,
+                CourseResponseModel.builder().courseId(courseId).courseNumber("CSJava101").courseName("Java1").build())));
+        when(enrollmentRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        //window size 2: the first two records are looked up together, the third is rejected without any lookup
+        StepVerifier.create(enrollmentService.importEnrollments(Flux.just(
+                        importRequest(studentId, courseId),
+                        importRequest(unknownStudentId, courseId),
+                        importRequest("short", courseId))))
+                .expectNextMatches(result -> result.getRecord() == 1
+                        && result.getStatus() == EnrollmentImportResult.Status.CREATED
+                        && result.getEnrollmentId().length() == 36)
+                .expectNextMatches(result -> result.getRecord() == 2
+                        && result.getStatus() == EnrollmentImportResult.Status.INVALID
+                        && result.getMessage().equals("StudentId not found: " + unknownStudentId))
+                .expectNextMatches(result -> result.getRecord() == 3
+                        && result.getStatus() == EnrollmentImportResult.Status.INVALID
+                        && result.getMessage().equals("Invalid student id: short"))
+                .expectNextMatches(summary -> summary.getStatus() == EnrollmentImportResult.Status.COMPLETED
+                        && summary.getCreated() == 1 && summary.getInvalid() == 2 && summary.getFailed() == 0
+                        && summary.getRecordsPerSecond() > 0)
+                .verifyComplete();
+
+        verify(enrollmentRepository, times(1)).insertUnordered(any());
+    }
+
+    @Test
+    public void whenImportWriteErrorOrLookupFails_thenRecordsFailedAndImportGoesOn() {
+        String studentId = UUID.randomUUID().toString();
+        String courseId = UUID.randomUUID().toString();
+
+        when(studentClient.getStudentsByStudentIds(Set.of(studentId)))
+                .thenReturn(Mono.just(Map.of(studentId, StudentResponseModel.builder().studentId(studentId).build())))
+                .thenReturn(Mono.error(new IllegalArgumentException("Something went wrong")));
+        when(courseClient.getCoursesByCourseIds(Set.of(courseId)))
+                .thenReturn(Mono.just(Map.of(courseId, CourseResponseModel.builder().courseId(courseId).build())));
+        when(enrollmentRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of(1, "E11000 duplicate key error")));
+
+        StepVerifier.create(enrollmentService.importEnrollments(Flux.just(
+                        importRequest(studentId, courseId),
+                        importRequest(studentId, courseId),
+                        importRequest(studentId, courseId))))
+                .expectNextMatches(result -> result.getStatus() == EnrollmentImportResult.Status.CREATED)
+                .expectNextMatches(result -> result.getStatus() == EnrollmentImportResult.Status.FAILED
+                        && result.getMessage().equals("E11000 duplicate key error"))
+                .expectNextMatches(result -> result.getRecord() == 3
+                        && result.getStatus() == EnrollmentImportResult.Status.FAILED
+                        && result.getMessage().equals("Something went wrong"))
+                .expectNextMatches(summary -> summary.getStatus() == EnrollmentImportResult.Status.COMPLETED
+                        && summary.getCreated() == 1 && summary.getFailed() == 2)
+                .verifyComplete();
+    }
+
+    private static EnrollmentRequestModel importRequest(String studentId, String courseId) {
+        return EnrollmentRequestModel.builder()
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .studentId(studentId)
+                .courseId(courseId)
+                .build();
+    }
 }
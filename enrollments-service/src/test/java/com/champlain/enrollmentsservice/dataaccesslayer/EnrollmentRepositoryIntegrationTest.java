@@ -1,13 +1,20 @@
 package com.champlain.enrollmentsservice.dataaccesslayer;
 
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,6 +23,8 @@ import static org.junit.jupiter.api.Assertions.*;
 class EnrollmentRepositoryIntegrationTest {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
     Enrollment enrollment1 = Enrollment.builder()
             .enrollmentId("06a7d573-bcab-4db3-956f-773324b92a80")
             .enrollmentYear(2021)
@@ -74,5 +83,145 @@ class EnrollmentRepositoryIntegrationTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
-}
 
+    @Test
+    void deleteEnrollmentByEnrollmentId_withExistingId_shouldReturnRemovedEnrollment() {
+        StepVerifier
+                .create(enrollmentRepository.deleteEnrollmentByEnrollmentId(enrollment1.getEnrollmentId())
+                        //counted once the delete has completed, zipWith would subscribe to both at the same time
+                        .flatMap(removed -> enrollmentRepository.count().map(count -> Tuples.of(removed, count))))
+                .consumeNextWith(removed -> {
+                    assertEquals(enrollment1.getEnrollmentId(), removed.getT1().getEnrollmentId());
+                    assertEquals(1L, removed.getT2());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void updateEnrollmentByEnrollmentId_withExistingId_shouldReturnUpdatedEnrollment() {
+        Enrollment changes = Enrollment.builder()
+                .enrollmentYear(2022)
+                .semester(Semester.WINTER)
+                .studentId(enrollment1.getStudentId())
+                .courseId(enrollment1.getCourseId())
+                .courseName("Advanced Web Services")
+                .build();
+
+        StepVerifier
+                .create(enrollmentRepository.updateEnrollmentByEnrollmentId(enrollment1.getEnrollmentId(), changes))
+                .consumeNextWith(updated -> {
+                    assertEquals(enrollment1.getEnrollmentId(), updated.getEnrollmentId());
+                    assertEquals(Semester.WINTER, updated.getSemester());
+                    assertEquals("Advanced Web Services", updated.getCourseName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void save_withDuplicateEnrollmentId_shouldFail() {
+        Enrollment duplicate = Enrollment.builder()
+                .enrollmentId(enrollment1.getEnrollmentId())
+                .build();
+
+        StepVerifier
+                .create(enrollmentRepository.save(duplicate))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    void findPage_withStudentFilter_shouldReturnPagesInIdOrder() {
+        EnrollmentFilter filter = EnrollmentFilter.builder()
+                .studentId(enrollment1.getStudentId())
+                .enrollmentYear(2021)
+                .semester(Semester.FALL)
+                .build();
+
+        StepVerifier
+                .create(enrollmentRepository.findPage(filter, null, 1).next()
+                        .flatMap(first -> enrollmentRepository.findPage(filter, first.getId(), 1).collectList()
+                                .map(secondPage -> List.of(first, secondPage.get(0)))))
+                .consumeNextWith(pages -> {
+                    assertTrue(pages.get(0).getId().compareTo(pages.get(1).getId()) < 0);
+                    assertNotEquals(pages.get(0).getEnrollmentId(), pages.get(1).getEnrollmentId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_withCourseFilter_shouldReturnOnlyThatCourse() {
+        EnrollmentFilter filter = EnrollmentFilter.builder()
+                .courseId(enrollment2.getCourseId())
+                .build();
+
+        StepVerifier
+                .create(enrollmentRepository.findPage(filter, null, null))
+                .consumeNextWith(found -> assertEquals(enrollment2.getEnrollmentId(), found.getEnrollmentId()))
+                .verifyComplete();
+    }
+
+    //every filter the listing accepts must be answered from the compound indexes declared on Enrollment, in _id order
+    @Test
+    void filteredQueries_shouldUseIndexScan() {
+        List<Document> filters = List.of(
+                new Document("studentId", enrollment1.getStudentId()),
+                new Document("courseId", enrollment1.getCourseId()),
+                new Document("studentId", enrollment1.getStudentId())
+                        .append("courseId", enrollment1.getCourseId()),
+                new Document("studentId", enrollment1.getStudentId())
+                        .append("enrollmentYear", 2021)
+                        .append("semester", Semester.FALL.name()),
+                new Document("courseId", enrollment1.getCourseId())
+                        .append("enrollmentYear", 2021)
+                        .append("semester", Semester.FALL.name()),
+                new Document("enrollmentYear", 2021)
+                        .append("semester", Semester.FALL.name()));
+
+        StepVerifier
+                .create(Flux.fromIterable(filters)
+                        .concatMap(filter -> mongoTemplate.getCollection(mongoTemplate.getCollectionName(Enrollment.class))
+                                .flatMap(collection -> Mono.from(collection.find(filter)
+                                        .sort(new Document("_id", 1))
+                                        .explain()))))
+                .thenConsumeWhile(explain -> {
+                    String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+                    assertTrue(winningPlan.contains("IXSCAN"), winningPlan);
+                    assertFalse(winningPlan.contains("COLLSCAN"), winningPlan);
+                    assertFalse(winningPlan.contains("\"SORT\""), winningPlan);
+                    return true;
+                })
+                .verifyComplete();
+    }
+
+    //unordered: the documents after the duplicate enrollmentId are still inserted
+    @Test
+    void insertUnordered_withDuplicateEnrollmentId_shouldInsertTheOthersAndReportIt() {
+        Enrollment duplicate = Enrollment.builder()
+                .enrollmentId(enrollment1.getEnrollmentId())
+                .enrollmentYear(2022)
+                .semester(Semester.WINTER)
+                .build();
+        Enrollment first = Enrollment.builder()
+                .enrollmentId("3f1d3a8e-6a3e-4f0e-9a55-0c1f8c8e3b01")
+                .enrollmentYear(2022)
+                .semester(Semester.WINTER)
+                .build();
+        Enrollment last = Enrollment.builder()
+                .enrollmentId("3f1d3a8e-6a3e-4f0e-9a55-0c1f8c8e3b02")
+                .enrollmentYear(2022)
+                .semester(Semester.WINTER)
+                .build();
+
+        StepVerifier
+                .create(enrollmentRepository.insertUnordered(List.of(first, duplicate, last)))
+                .consumeNextWith(writeErrors -> {
+                    assertEquals(1, writeErrors.size());
+                    assertTrue(writeErrors.containsKey(1));
+                })
+                .verifyComplete();
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(4L)
+                .verifyComplete();
+    }
+}
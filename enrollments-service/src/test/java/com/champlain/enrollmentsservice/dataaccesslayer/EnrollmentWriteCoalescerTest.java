@@ -0,0 +1,113 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EnrollmentWriteCoalescerTest {
+
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EnrollmentWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.destroy();
+    }
+
+    @Test
+    void whenInsertsArriveTogether_thenOneBulkWriteAndEachCallerGetsItsEnrollment() {
+        coalescer = enabledCoalescer(3, Duration.ofSeconds(5));
+        when(enrollmentRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        //a full batch is flushed straight away, without waiting for maxWait
+        StepVerifier.create(Flux.merge(
+                        coalescer.insert(enrollment("e1")),
+                        coalescer.insert(enrollment("e2")),
+                        coalescer.insert(enrollment("e3")))
+                        .map(Enrollment::getEnrollmentId)
+                        .collectList())
+                .expectNextMatches(ids -> ids.containsAll(List.of("e1", "e2", "e3")))
+                .verifyComplete();
+
+        verify(enrollmentRepository, times(1)).insertUnordered(any());
+        verify(enrollmentRepository, never()).save(any());
+        assertEquals(3.0, meterRegistry.get("enrollments.write-coalescing.batch-size").summary().totalAmount());
+    }
+
+    @Test
+    void whenSingleInsert_thenFlushedAfterMaxWait() {
+        coalescer = enabledCoalescer(100, Duration.ofMillis(20));
+        when(enrollmentRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(coalescer.insert(enrollment("e1")))
+                .expectNextMatches(enrollment -> enrollment.getEnrollmentId().equals("e1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void whenOneDocumentFails_thenOnlyItsCallerGetsTheError() {
+        coalescer = enabledCoalescer(2, Duration.ofSeconds(5));
+        when(enrollmentRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of(1, "E11000 duplicate key error")));
+
+        Mono<Enrollment> first = coalescer.insert(enrollment("e1")).cache();
+        Mono<Enrollment> second = coalescer.insert(enrollment("e2")).cache();
+        first.subscribe(enrollment -> {}, error -> {});
+        second.subscribe(enrollment -> {}, error -> {});
+
+        StepVerifier.create(first).expectNextMatches(enrollment -> enrollment.getEnrollmentId().equals("e1")).verifyComplete();
+        StepVerifier.create(second)
+                .expectErrorMatches(e -> e instanceof DataIntegrityViolationException
+                        && e.getMessage().equals("E11000 duplicate key error"))
+                .verify();
+    }
+
+    @Test
+    void whenBulkWriteFails_thenEveryCallerOfTheBatchFailsAndTheNextBatchIsWritten() {
+        coalescer = enabledCoalescer(1, Duration.ofSeconds(5));
+        when(enrollmentRepository.insertUnordered(any()))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")))
+                .thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(coalescer.insert(enrollment("e1"))).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(coalescer.insert(enrollment("e2"))).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void whenDisabled_thenPlainSave() {
+        coalescer = new EnrollmentWriteCoalescer(enrollmentRepository, false, 100, Duration.ofMillis(5), 4, meterRegistry);
+        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(coalescer.insert(enrollment("e1"))).expectNextCount(1).verifyComplete();
+
+        verify(enrollmentRepository, never()).insertUnordered(any());
+    }
+
+    private EnrollmentWriteCoalescer enabledCoalescer(int maxBatchSize, Duration maxWait) {
+        return new EnrollmentWriteCoalescer(enrollmentRepository, true, maxBatchSize, maxWait, 4, meterRegistry);
+    }
+
+    private static Enrollment enrollment(String enrollmentId) {
+        return Enrollment.builder()
+                .enrollmentId(enrollmentId)
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.champlain.enrollmentsservice.datamapperlayer;
+
+import com.champlain.enrollmentsservice.businesslayer.enrollments.RequestContext;
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentResponseModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EnrollmentMapperUnitTest {
+
+    @Test
+    void whenRequestContextMapped_thenEnrollmentHasTheNamesAndANewEnrollmentId() {
+        RequestContext requestContext = new RequestContext(
+                EnrollmentRequestModel.builder()
+                        .enrollmentYear(2023)
+                        .semester(Semester.FALL)
+                        .studentId("student123")
+                        .courseId("course123")
+                        .build(),
+                null,
+                StudentResponseModel.builder().studentId("student123").firstName("Donna").lastName("Hornsby").build(),
+                CourseResponseModel.builder().courseId("course123").courseNumber("cat-420").courseName("Web Services").build());
+
+        Enrollment first = EnrollmentRequestMapper.INSTANCE.requestContextToEntity(requestContext);
+        Enrollment second = EnrollmentRequestMapper.INSTANCE.requestContextToEntity(requestContext);
+
+        assertNull(first.getId());
+        assertEquals(36, first.getEnrollmentId().length());
+        assertNotEquals(first.getEnrollmentId(), second.getEnrollmentId());
+        assertEquals(2023, first.getEnrollmentYear());
+        assertEquals(Semester.FALL, first.getSemester());
+        assertEquals("student123", first.getStudentId());
+        assertEquals("Donna", first.getStudentFirstName());
+        assertEquals("Hornsby", first.getStudentLastName());
+        assertEquals("course123", first.getCourseId());
+        assertEquals("cat-420", first.getCourseNumber());
+        assertEquals("Web Services", first.getCourseName());
+    }
+
+    @Test
+    void whenEntityMapped_thenResponseModelHasEveryField() {
+        Enrollment enrollment = Enrollment.builder()
+                .id("mongo-id")
+                .enrollmentId("enrollment123")
+                .enrollmentYear(2023)
+                .semester(Semester.WINTER)
+                .studentId("student123")
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId("course123")
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .build();
+
+        EnrollmentResponseModel enrollmentResponseModel = EnrollmentResponseMapper.INSTANCE.entityToResponseModel(enrollment);
+
+        assertEquals(EnrollmentResponseModel.builder()
+                .enrollmentId("enrollment123")
+                .enrollmentYear(2023)
+                .semester(Semester.WINTER)
+                .studentId("student123")
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId("course123")
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .build(), enrollmentResponseModel);
+    }
+}
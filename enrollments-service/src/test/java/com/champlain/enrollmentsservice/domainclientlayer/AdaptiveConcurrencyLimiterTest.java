@@ -0,0 +1,138 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, double tolerance) {
+        return AdaptiveConcurrencyLimiter.builder()
+                .clientName("test-service")
+                .enabled(true)
+                .initialLimit(initialLimit)
+                .minLimit(1)
+                .maxLimit(10)
+                .tolerance(tolerance)
+                .backoffRatio(0.5)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void whenLimitReached_thenRequestWaitsForAFreeSlot() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1_000_000);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicInteger thirdStarted = new AtomicInteger();
+
+        limiter.execute(first::asMono).subscribe();
+        limiter.execute(second::asMono).subscribe();
+        Mono<String> third = limiter.execute(() -> {
+            thirdStarted.incrementAndGet();
+            return Mono.just("third");
+        });
+
+        StepVerifier.create(third)
+                .then(() -> {
+                    assertEquals(0, thirdStarted.get());
+                    assertEquals(2, limiter.inFlight());
+                    assertEquals(1, limiter.queued());
+                    assertEquals(1.0, meterRegistry.get("client.concurrency.queued").tag("client", "test-service").gauge().value());
+                    first.tryEmitValue("first");
+                })
+                .expectNext("third")
+                .verifyComplete();
+
+        assertEquals(1, thirdStarted.get());
+        assertEquals(0, limiter.queued());
+        assertTrue(limiter.queueDelayMillis() > 0);
+        second.tryEmitValue("second");
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void whenRequestFails_thenLimitDecreases() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1_000_000);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(4, limiter.limit());
+        assertEquals(4.0, meterRegistry.get("client.concurrency.limit").tag("client", "test-service").gauge().value());
+    }
+
+    @Test
+    void whenNotFound_thenLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1_000_000);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(new NotFoundException("id1"))))
+                .expectError(NotFoundException.class)
+                .verify();
+
+        assertEquals(8, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void whenLimitUsedAndRequestsSucceedFast_thenLimitIncreases() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1_000_000);
+
+        for (int round = 0; round < 4; round++) {
+            Sinks.One<String> first = Sinks.one();
+            Sinks.One<String> second = Sinks.one();
+            limiter.execute(first::asMono).subscribe();
+            limiter.execute(second::asMono).subscribe();
+            first.tryEmitValue("ok");
+            second.tryEmitValue("ok");
+        }
+
+        assertTrue(limiter.limit() > 2);
+    }
+
+    @Test
+    void whenLimitBarelyUsed_thenLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1_000_000);
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(limiter.execute(() -> Mono.just("ok")))
+                    .expectNext("ok")
+                    .verifyComplete();
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void whenQueuedRequestCancelled_thenLeavesQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1_000_000);
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger secondStarted = new AtomicInteger();
+
+        limiter.execute(first::asMono).subscribe();
+        Disposable second = limiter.execute(() -> {
+            secondStarted.incrementAndGet();
+            return Mono.just("second");
+        }).subscribe();
+        assertEquals(1, limiter.queued());
+
+        second.dispose();
+        first.tryEmitValue("first");
+
+        assertEquals(0, limiter.queued());
+        assertEquals(0, limiter.inFlight());
+        assertEquals(0, secondStarted.get());
+    }
+}
@@ -0,0 +1,111 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncLookupCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger bulkLoads = new AtomicInteger();
+
+    private final AsyncLookupCache<String, String> cache = AsyncLookupCache.<String, String>builder()
+            .cacheName("test")
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .refreshAfterWrite(Duration.ofMinutes(5))
+            .negativeTtl(Duration.ofSeconds(30))
+            .loader(key -> {
+                loads.incrementAndGet();
+                return key.startsWith("missing")
+                        ? Mono.error(new NotFoundException("Id not found: " + key))
+                        : Mono.just("value-" + key);
+            })
+            .bulkLoader(keys -> {
+                bulkLoads.incrementAndGet();
+                Map<String, String> found = new HashMap<>();
+                keys.stream().filter(key -> !key.startsWith("missing")).forEach(key -> found.put(key, "value-" + key));
+                return Mono.just(found);
+            })
+            .notFoundMessage(key -> "Id not found: " + key)
+            .meterRegistry(meterRegistry)
+            .build();
+
+    @Test
+    void whenKeyRequestedTwice_thenLoadedOnce() {
+        StepVerifier.create(cache.get("id1")).expectNext("value-id1").verifyComplete();
+        StepVerifier.create(cache.get("id1")).expectNext("value-id1").verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void whenKeyNotFound_thenNotFoundIsCached() {
+        StepVerifier.create(cache.get("missing1")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(cache.get("missing1"))
+                .expectErrorMatches(e -> e instanceof NotFoundException && e.getMessage().equals("Id not found: missing1"))
+                .verify();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenGetAll_thenMissingKeysLoadedInOneBulkCall() {
+        StepVerifier.create(cache.get("id1")).expectNext("value-id1").verifyComplete();
+
+        StepVerifier.create(cache.getAll(List.of("id1", "id2", "missing1")))
+                .expectNext(Map.of("id1", "value-id1", "id2", "value-id2"))
+                .verifyComplete();
+        StepVerifier.create(cache.get("missing1")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(cache.getAll(Set.of("id2"))).expectNext(Map.of("id2", "value-id2")).verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, bulkLoads.get());
+    }
+
+    @Test
+    void whenEntryOlderThanRefreshAfterWrite_thenReloaderGetsTheOldValue() {
+        AtomicLong nanos = new AtomicLong();
+        List<String> reloaded = new ArrayList<>();
+        AsyncLookupCache<String, String> reloadingCache = AsyncLookupCache.<String, String>builder()
+                .cacheName("reloading")
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .refreshAfterWrite(Duration.ofMinutes(5))
+                .negativeTtl(Duration.ofSeconds(30))
+                .loader(key -> Mono.just("value-" + key))
+                .bulkLoader(keys -> Mono.just(Map.of()))
+                .reloader((key, oldValue) -> {
+                    reloaded.add(oldValue);
+                    return Mono.just(oldValue + "-revalidated");
+                })
+                .notFoundMessage(key -> "Id not found: " + key)
+                .meterRegistry(meterRegistry)
+                .ticker(nanos::get)
+                .build();
+
+        StepVerifier.create(reloadingCache.get("id1")).expectNext("value-id1").verifyComplete();
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        //triggers the refresh, which here completes before the read returns
+        StepVerifier.create(reloadingCache.get("id1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(reloadingCache.get("id1")).expectNext("value-id1-revalidated").verifyComplete();
+
+        assertEquals(List.of("value-id1"), reloaded);
+    }
+}
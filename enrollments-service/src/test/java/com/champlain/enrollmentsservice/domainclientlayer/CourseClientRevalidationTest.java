@@ -0,0 +1,79 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseClient;
+import com.champlain.enrollmentsservice.domainclientlayer.Courses.CourseResponseModel;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.MediaType;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+
+class CourseClientRevalidationTest {
+
+    private static final String COURSE_ID = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
+    private static final String ETAG = "W/\"5f1c0b7e\"";
+
+    private ClientAndServer coursesService;
+    private CourseClient courseClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        coursesService = ClientAndServer.startClientAndServer();
+        //every read after 1ms revalidates the cached course in the background
+        courseClient = new CourseClient("localhost", String.valueOf(coursesService.getPort()),
+                true, 100, Duration.ofMinutes(10), Duration.ofMillis(1), Duration.ofSeconds(30),
+                false, 100, Duration.ofSeconds(2), Duration.ofSeconds(3),
+                false, 20, 200, 2.0,
+                HttpClient.create(), mock(ObjectProvider.class), new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        coursesService.stop();
+    }
+
+    @Test
+    void whenCachedCourseNotModified_thenRevalidatedWithETagAndCachedCourseKept() {
+        coursesService.when(request().withMethod("GET").withPath("/api/v1/courses/" + COURSE_ID), Times.once())
+                .respond(response()
+                        .withStatusCode(200)
+                        .withHeader("ETag", ETAG)
+                        .withBody(json("{\"courseId\":\"" + COURSE_ID + "\",\"courseName\":\"Web Services\",\"courseNumber\":\"N45-LA\"}", MediaType.APPLICATION_JSON)));
+        coursesService.when(request().withMethod("GET").withPath("/api/v1/courses/" + COURSE_ID))
+                .respond(response().withStatusCode(304).withHeader("ETag", ETAG));
+
+        CourseResponseModel expected = CourseResponseModel.builder()
+                .courseId(COURSE_ID)
+                .courseName("Web Services")
+                .courseNumber("N45-LA")
+                .build();
+
+        StepVerifier.create(courseClient.getCourseByCourseId(COURSE_ID)).expectNext(expected).verifyComplete();
+
+        //the second conditional request is only sent when the first 304 kept the cached course and its ETag
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            StepVerifier.create(courseClient.getCourseByCourseId(COURSE_ID)).expectNext(expected).verifyComplete();
+            coursesService.verify(request().withPath("/api/v1/courses/" + COURSE_ID).withHeader("If-None-Match", ETAG),
+                    VerificationTimes.atLeast(2));
+        });
+        StepVerifier.create(courseClient.getCourseByCourseId(COURSE_ID)).expectNext(expected).verifyComplete();
+    }
+}
@@ -0,0 +1,93 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DownstreamResilienceTest {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(NotFoundException.class)
+            .build());
+    private final RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .ignoreExceptions(NotFoundException.class, CallNotPermittedException.class)
+            .build());
+    private final DownstreamResilience resilience =
+            new DownstreamResilience("test-service", circuitBreakerRegistry, retryRegistry);
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void whenRequestFailsOnce_thenRetried() {
+        Mono<String> request = Mono.fromCallable(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalArgumentException("Something went wrong");
+            }
+            return "course";
+        });
+
+        StepVerifier.create(resilience.execute(request))
+                .expectNext("course")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void whenNotFound_thenNotRetriedAndBreakerStaysClosed() {
+        Mono<String> request = Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            throw new NotFoundException("CourseId not found");
+        });
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(resilience.execute(request))
+                    .expectError(NotFoundException.class)
+                    .verify();
+        }
+
+        assertEquals(4, attempts.get());
+        assertEquals("CLOSED", circuitBreakerRegistry.circuitBreaker("test-service").getState().name());
+    }
+
+    @Test
+    void whenDownstreamKeepsFailing_thenBreakerOpensAndFailsFast() {
+        Mono<String> request = Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Something went wrong");
+        });
+
+        //3 attempts of the first call and the first attempt of the second one fill the window
+        StepVerifier.create(resilience.execute(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(resilience.execute(request))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        int attemptsWhenOpened = attempts.get();
+        StepVerifier.create(resilience.execute(request))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertEquals(4, attemptsWhenOpened);
+        assertEquals(attemptsWhenOpened, attempts.get());
+    }
+}
@@ -0,0 +1,72 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InFlightRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InFlightRequestCoalescer<String, String> coalescer =
+            new InFlightRequestCoalescer<>("test-service", meterRegistry);
+
+    @Test
+    void whenSameKeyRequestedConcurrently_thenLoaderCalledOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+
+        Mono<String> first = coalescer.execute("id1", id -> {
+            loads.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<String> second = coalescer.execute("id1", id -> {
+            loads.incrementAndGet();
+            return response.asMono();
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("student"))
+                .expectNextMatches(tuple -> tuple.getT1().equals("student") && tuple.getT2().equals("student"))
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.inFlightCount());
+        assertEquals(1.0, meterRegistry.get("client.requests.coalesced").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("client.requests.coalesced").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void whenPreviousLookupCompleted_thenNextLookupStartsNewRequest() {
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(coalescer.execute("id1", id -> Mono.fromCallable(loads::incrementAndGet).map(String::valueOf)))
+                .expectNext("1")
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute("id1", id -> Mono.fromCallable(loads::incrementAndGet).map(String::valueOf)))
+                .expectNext("2")
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenLookupFails_thenErrorSharedAndEntryRemoved() {
+        Sinks.One<String> response = Sinks.one();
+
+        Mono<String> first = coalescer.execute("id1", id -> response.asMono());
+        Mono<String> second = coalescer.execute("id1", id -> Mono.just("unused"));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitError(new IllegalStateException("boom")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(0, coalescer.inFlightCount());
+    }
+}
@@ -0,0 +1,40 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.exceptions.CustomRSocketException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RSocketErrorsTest {
+
+    @Test
+    void whenNotFoundCode_thenNotFoundException() {
+        Throwable error = RSocketErrors.toClientException(
+                new CustomRSocketException(RSocketErrors.NOT_FOUND_ERROR_CODE, "Unknown studentId: id1"));
+
+        assertInstanceOf(NotFoundException.class, error);
+        assertEquals("Unknown studentId: id1", error.getMessage());
+    }
+
+    @Test
+    void whenInvalidInputCode_thenInvalidInputException() {
+        Throwable error = RSocketErrors.toClientException(
+                new CustomRSocketException(RSocketErrors.INVALID_INPUT_ERROR_CODE, "Invalid studentId: id1"));
+
+        assertInstanceOf(InvalidInputException.class, error);
+    }
+
+    @Test
+    void whenOtherError_thenUnchanged() {
+        Throwable applicationError = new ApplicationErrorException("boom");
+        Throwable customError = new CustomRSocketException(0x500, "boom");
+
+        assertSame(applicationError, RSocketErrors.toClientException(applicationError));
+        assertSame(customError, RSocketErrors.toClientException(customError));
+    }
+}
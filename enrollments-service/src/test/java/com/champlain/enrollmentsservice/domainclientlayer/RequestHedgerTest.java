@@ -0,0 +1,87 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private void recordLatencies(Duration latency, int count) {
+        IntStream.range(0, count).forEach(i -> meterRegistry.get("client.requests").timer().record(latency));
+    }
+
+    //first request hangs, the hedge answers
+    private Mono<String> slowThenFast() {
+        return requests.incrementAndGet() == 1 ? Mono.never() : Mono.just("student");
+    }
+
+    @Test
+    void whenSlowerThanP95_thenSecondRequestAnswers() {
+        RequestHedger hedger = new RequestHedger("test-service", true, 10, meterRegistry);
+        recordLatencies(Duration.ofMillis(5), 20);
+
+        StepVerifier.create(hedger.execute(this::slowThenFast))
+                .expectNext("student")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.get("client.requests.hedged").counter().count());
+    }
+
+    @Test
+    void whenNotEnoughSamples_thenNoHedge() {
+        RequestHedger hedger = new RequestHedger("test-service", true, 10, meterRegistry);
+        recordLatencies(Duration.ofMillis(5), 5);
+
+        assertNull(hedger.hedgeDelay());
+        StepVerifier.create(hedger.execute(this::slowThenFast))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void whenHedgingDisabled_thenSingleRequest() {
+        RequestHedger hedger = new RequestHedger("test-service", false, 10, meterRegistry);
+        recordLatencies(Duration.ofMillis(5), 20);
+
+        StepVerifier.create(hedger.execute(this::slowThenFast))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void whenFirstRequestFails_thenErrorNotHedged() {
+        RequestHedger hedger = new RequestHedger("test-service", true, 10, meterRegistry);
+        recordLatencies(Duration.ofMillis(50), 20);
+
+        StepVerifier.create(hedger.execute(() -> {
+                    requests.incrementAndGet();
+                    return Mono.<String>error(new NotFoundException("StudentId not found"));
+                }))
+                .expectError(NotFoundException.class)
+                .verify();
+
+        assertEquals(1, requests.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentClientAsynchronous;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.MediaType;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+
+class StudentClientBatchingTest {
+
+    private ClientAndServer studentsService;
+    private StudentClientAsynchronous studentClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        studentsService = ClientAndServer.startClientAndServer();
+        //windows of 100 ids, up to 4 of them looked up at the same time
+        studentClient = new StudentClientAsynchronous("localhost", String.valueOf(studentsService.getPort()),
+                100, Duration.ofMillis(50), 4, false, 100, Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofSeconds(30),
+                false, 100, Duration.ofSeconds(2), Duration.ofSeconds(3),
+                false, 20, 200, 2.0,
+                HttpClient.create(), mock(ObjectProvider.class), new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentsService.stop();
+    }
+
+    @Test
+    void whenSourceSpansSeveralWindows_thenWindowsLookedUpAtOnceAndEmittedInOrder() {
+        studentsService.when(request().withMethod("GET").withPath("/api/v1/students").withQueryStringParameter("studentIds", ".*"))
+                .respond(response()
+                        .withStatusCode(200)
+                        .withBody(json("[]", MediaType.APPLICATION_JSON))
+                        .withDelay(TimeUnit.SECONDS, 2));
+        List<String> studentIds = IntStream.range(0, 300).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        StepVerifier.create(studentClient.getStudentsInBatches(Flux.fromIterable(studentIds), Function.identity()))
+                //every window is sent before the first answer comes back, one after the other only the first would be
+                .then(() -> await().atMost(Duration.ofMillis(900)).untilAsserted(() ->
+                        studentsService.verify(request().withPath("/api/v1/students"), VerificationTimes.exactly(3))))
+                .assertNext(window -> assertEquals(studentIds.subList(0, 100), window.getT1()))
+                .assertNext(window -> assertEquals(studentIds.subList(100, 200), window.getT1()))
+                .assertNext(window -> assertEquals(studentIds.subList(200, 300), window.getT1()))
+                .verifyComplete();
+    }
+}
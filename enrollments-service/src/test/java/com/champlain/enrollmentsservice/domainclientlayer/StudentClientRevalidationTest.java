@@ -0,0 +1,79 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentClientAsynchronous;
+import com.champlain.enrollmentsservice.domainclientlayer.Students.StudentResponseModel;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.MediaType;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+
+class StudentClientRevalidationTest {
+
+    private static final String STUDENT_ID = "c3540a89-cb47-4c96-888e-ff96708db4d8";
+    private static final String ETAG = "W/\"a41e7c02\"";
+
+    private ClientAndServer studentsService;
+    private StudentClientAsynchronous studentClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        studentsService = ClientAndServer.startClientAndServer();
+        //every read after 1ms revalidates the cached student in the background
+        studentClient = new StudentClientAsynchronous("localhost", String.valueOf(studentsService.getPort()),
+                100, Duration.ofMillis(50), 8, true, 100, Duration.ofMinutes(10), Duration.ofMillis(1), Duration.ofSeconds(30),
+                false, 100, Duration.ofSeconds(2), Duration.ofSeconds(3),
+                false, 20, 200, 2.0,
+                HttpClient.create(), mock(ObjectProvider.class), new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentsService.stop();
+    }
+
+    @Test
+    void whenCachedStudentNotModified_thenRevalidatedWithETagAndCachedStudentKept() {
+        studentsService.when(request().withMethod("GET").withPath("/api/v1/students/" + STUDENT_ID), Times.once())
+                .respond(response()
+                        .withStatusCode(200)
+                        .withHeader("ETag", ETAG)
+                        .withBody(json("{\"studentId\":\"" + STUDENT_ID + "\",\"firstName\":\"Donna\",\"lastName\":\"Hornsby\"}", MediaType.APPLICATION_JSON)));
+        studentsService.when(request().withMethod("GET").withPath("/api/v1/students/" + STUDENT_ID))
+                .respond(response().withStatusCode(304).withHeader("ETag", ETAG));
+
+        StudentResponseModel expected = StudentResponseModel.builder()
+                .studentId(STUDENT_ID)
+                .firstName("Donna")
+                .lastName("Hornsby")
+                .build();
+
+        StepVerifier.create(studentClient.getStudentByStudentId(STUDENT_ID)).expectNext(expected).verifyComplete();
+
+        //the second conditional request is only sent when the first 304 kept the cached student and its ETag
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            StepVerifier.create(studentClient.getStudentByStudentId(STUDENT_ID)).expectNext(expected).verifyComplete();
+            studentsService.verify(request().withPath("/api/v1/students/" + STUDENT_ID).withHeader("If-None-Match", ETAG),
+                    VerificationTimes.atLeast(2));
+        });
+        StepVerifier.create(studentClient.getStudentByStudentId(STUDENT_ID)).expectNext(expected).verifyComplete();
+    }
+}
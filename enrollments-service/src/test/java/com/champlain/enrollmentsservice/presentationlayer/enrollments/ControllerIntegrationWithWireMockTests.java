@@ -168,6 +168,7 @@ public class ControllerIntegrationWithWireMockTests {
         mockServerConfigStudentsService = new MockServerConfigStudentsService();
         mockServerConfigStudentsService.registerGetStudent1ByStudentIdEndpoint();
         mockServerConfigStudentsService.registerGetStudent2ByStudentIdEndpoint();
+        mockServerConfigStudentsService.registerGetStudentsByStudentIdsEndpoint();
 
         mockServerConfigStudentsService.registerGetStudent_NonExisting_ByStudentIdEndpoint();
 
@@ -175,6 +176,7 @@ public class ControllerIntegrationWithWireMockTests {
         mockServerConfigCoursesService = new MockServerConfigCoursesService();
         mockServerConfigCoursesService.registerGetCourse1ByCourseIdEndpoint();
         mockServerConfigCoursesService.registerGetCourse2ByCourseIdEndpoint();
+        mockServerConfigCoursesService.registerGetCoursesByCourseIdsEndpoint();
 
         mockServerConfigCoursesService.registerGetCourse_NonExisting_ByCourseIdEndpoint();
         mockServerConfigCoursesService.registerGetCourse_INVALID_ByCourseIdEndpoint();
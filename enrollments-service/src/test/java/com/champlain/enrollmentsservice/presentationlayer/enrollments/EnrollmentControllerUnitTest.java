@@ -1,19 +1,26 @@
 package com.champlain.enrollmentsservice.presentationlayer.enrollments;
 
 import com.champlain.enrollmentsservice.businesslayer.enrollments.EnrollmentService;
+import com.champlain.enrollmentsservice.businesslayer.enrollments.ReadConsistency;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
 import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @WebFluxTest(controllers = EnrollmentController.class)
@@ -81,6 +88,39 @@ class EnrollmentControllerUnitTest {
         verify(enrollmentService, times(1)).addEnrollment(any(Mono.class));
     }
 
+    @Test
+    void importEnrollments_ndjsonRecords_streamsOneResultPerRecord() {
+        when(enrollmentService.importEnrollments(any(Flux.class))).thenAnswer(invocation -> {
+            Flux<EnrollmentRequestModel> requests = invocation.getArgument(0);
+            return requests.index()
+                    .map(request -> EnrollmentImportResult.builder()
+                            .record(request.getT1() + 1)
+                            .status(EnrollmentImportResult.Status.CREATED)
+                            .enrollmentId(request.getT2().getStudentId())
+                            .build())
+                    .concatWith(Mono.just(EnrollmentImportResult.builder()
+                            .status(EnrollmentImportResult.Status.COMPLETED)
+                            .created(2L)
+                            .build()));
+        });
+
+        webTestClient.post()
+                .uri("/api/v1/enrollments/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"studentId\":\"s1\",\"courseId\":\"c1\",\"enrollmentYear\":2024,\"semester\":\"FALL\"}\n"
+                        + "{\"studentId\":\"s2\",\"courseId\":\"c1\",\"enrollmentYear\":2024,\"semester\":\"FALL\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EnrollmentImportResult.class)
+                .value(results -> {
+                    assertEquals(3, results.size());
+                    assertEquals("s2", results.get(1).getEnrollmentId());
+                    assertEquals(EnrollmentImportResult.Status.COMPLETED, results.get(2).getStatus());
+                });
+    }
+
     //Me
     @Test
     void getEnrollmentByEnrollmentId_withInvalidEnrollmentId_throwsNotFoundException() {
@@ -104,8 +144,8 @@ class EnrollmentControllerUnitTest {
         EnrollmentResponseModel enrollment1 = new EnrollmentResponseModel("e1", 2024, Semester.FALL, "s1", "John", "Doe", "c1", "CS101", "Introduction to CS");
         EnrollmentResponseModel enrollment2 = new EnrollmentResponseModel("e2", 2024, Semester.FALL, "s2", "Jane", "Smith", "c2", "CS102", "Data Structures");
 
-        when(enrollmentService.getAllEnrollments())
-                .thenReturn(Flux.just(enrollment1, enrollment2));
+        when(enrollmentService.getEnrollmentsPage(EnrollmentFilter.builder().build(), null, null, ReadConsistency.LIVE))
+                .thenReturn(Flux.just(Tuples.of("c1", enrollment1), Tuples.of("c2", enrollment2)));
 
         webTestClient.get()
                 .uri("/api/v1/enrollments")
@@ -118,7 +158,178 @@ class EnrollmentControllerUnitTest {
                 .hasSize(2)
                 .contains(enrollment1, enrollment2);
 
-        verify(enrollmentService, times(1)).getAllEnrollments();
+        verify(enrollmentService, times(1)).getEnrollmentsPage(EnrollmentFilter.builder().build(), null, null, ReadConsistency.LIVE);
+    }
+
+    @Test
+    void getAllEnrollments_withLimitAndCursor_pageWithCursorsReturned() {
+        EnrollmentResponseModel enrollment3 = new EnrollmentResponseModel("e3", 2024, Semester.FALL, "s3", "John", "Doe", "c1", "CS101", "Introduction to CS");
+
+        when(enrollmentService.getEnrollmentsPage(EnrollmentFilter.builder().build(), "cursor2", 1, ReadConsistency.SNAPSHOT))
+                .thenReturn(Flux.just(Tuples.of("cursor3", enrollment3)));
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments?limit=1&after=cursor2&consistency=snapshot")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<EnrollmentResponseModel>>() {})
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(event -> event.id().equals("cursor3") && event.data().equals(enrollment3))
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllEnrollments_withLastEventId_streamResumedAfterIt() {
+        when(enrollmentService.getEnrollmentsPage(EnrollmentFilter.builder().build(), "cursor2", null, ReadConsistency.LIVE))
+                .thenReturn(Flux.empty());
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments")
+                .header("Last-Event-ID", "cursor2")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(enrollmentService, times(1)).getEnrollmentsPage(EnrollmentFilter.builder().build(), "cursor2", null, ReadConsistency.LIVE);
+    }
+
+    @Test
+    void getAllEnrollments_withFilters_filteredEnrollmentsRequested() {
+        String courseId = UUID.randomUUID().toString();
+        EnrollmentFilter filter = EnrollmentFilter.builder()
+                .courseId(courseId)
+                .enrollmentYear(2025)
+                .semester(Semester.FALL)
+                .build();
+
+        when(enrollmentService.getEnrollmentsPage(filter, null, null, ReadConsistency.LIVE))
+                .thenReturn(Flux.just(Tuples.of("c1", enrollmentResponseModel)));
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments?courseId={courseId}&enrollmentYear=2025&semester=fall", courseId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EnrollmentResponseModel.class)
+                .hasSize(1)
+                .contains(enrollmentResponseModel);
+
+        verify(enrollmentService, times(1)).getEnrollmentsPage(filter, null, null, ReadConsistency.LIVE);
+    }
+
+    @Test
+    void getAllEnrollments_withInvalidSemester_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/enrollments?semester=AUTUMN")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verifyNoInteractions(enrollmentService);
+    }
+
+    @Test
+    void getAllEnrollments_withSemesterWithoutYear_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/enrollments?semester=fall")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verifyNoInteractions(enrollmentService);
+    }
+
+    @Test
+    void getAllEnrollments_withYearWithoutSemester_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/enrollments?studentId={studentId}&enrollmentYear=2025", UUID.randomUUID().toString())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verifyNoInteractions(enrollmentService);
+    }
+
+    @Test
+    void getAllEnrollments_withInvalidLimit_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/enrollments?limit=0")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verifyNoInteractions(enrollmentService);
+    }
+
+    @Test
+    void getEnrollmentByEnrollmentId_withSnapshotConsistency_snapshotRequested() {
+        when(enrollmentService.getEnrollmentByEnrollmentId(enrollmentId, ReadConsistency.SNAPSHOT))
+                .thenReturn(Mono.just(enrollmentResponseModel));
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments/{enrollmentId}?consistency=snapshot", enrollmentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EnrollmentResponseModel.class)
+                .isEqualTo(enrollmentResponseModel);
+
+        verify(enrollmentService, times(1)).getEnrollmentByEnrollmentId(enrollmentId, ReadConsistency.SNAPSHOT);
+    }
+
+    @Test
+    void getEnrollmentByEnrollmentId_withSameETag_returnsNotModified() {
+        when(enrollmentService.getEnrollmentByEnrollmentId(enrollmentId))
+                .thenReturn(Mono.just(enrollmentResponseModel));
+
+        String eTag = webTestClient.get()
+                .uri("/api/v1/enrollments/{enrollmentId}", enrollmentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .returnResult(EnrollmentResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments/{enrollmentId}", enrollmentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        verify(enrollmentService, times(2)).getEnrollmentByEnrollmentId(enrollmentId);
+    }
+
+    @Test
+    void getEnrollmentByEnrollmentId_withOtherETag_returnsEnrollment() {
+        when(enrollmentService.getEnrollmentByEnrollmentId(enrollmentId))
+                .thenReturn(Mono.just(enrollmentResponseModel));
+
+        webTestClient.get()
+                .uri("/api/v1/enrollments/{enrollmentId}", enrollmentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", "\"stale\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EnrollmentResponseModel.class)
+                .isEqualTo(enrollmentResponseModel);
+    }
+
+    @Test
+    void getEnrollmentByEnrollmentId_withInvalidConsistency_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/enrollments/{enrollmentId}?consistency=eventual", enrollmentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid consistency: eventual, expected snapshot or live");
+
+        verifyNoInteractions(enrollmentService);
     }
 
     //Me
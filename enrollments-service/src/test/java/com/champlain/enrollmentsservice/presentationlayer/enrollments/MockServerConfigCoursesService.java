@@ -75,6 +75,22 @@ public class MockServerConfigCoursesService {
                 );
     }
 
+    public void registerGetCoursesByCourseIdsEndpoint() {
+        mockServerClient
+                .when(
+                        request()
+                                .withMethod("GET")
+                                .withPath("/api/v1/courses")
+                                .withQueryStringParameter("courseIds", ".*")
+                )
+                .respond(
+                        response()
+                                .withStatusCode(200)
+                                .withBody(json("[{\"courseId\":\"9a29fff7-564a-4cc9-8fe1-36f6ca9bc223\",\"courseName\":\"Web Services\",\"courseNumber\":\"N45-LA\",\"department\":\"Computer Science\",\"numCredits\":2.0,\"numHours\":60},{\"courseId\":\"8d764f78-8468-4769-b643-10cde392fbde\",\"courseName\":\"Waves\",\"courseNumber\":\"xud-857\",\"department\":\"Physics\",\"numCredits\":2.5,\"numHours\":60}]", MediaType.APPLICATION_JSON))
+                                .withDelay(TimeUnit.SECONDS, 1)
+                );
+    }
+
     /*
     public void verifyGetCourse1ByCourseIdEndpoint() {
         // Log actual requests for debugging
@@ -63,6 +63,22 @@ public class MockServerConfigStudentsService{
                 );
     }
 
+    public void registerGetStudentsByStudentIdsEndpoint() {
+        mockServerClient
+                .when(
+                        request()
+                                .withMethod("GET")
+                                .withPath("/api/v1/students")
+                                .withQueryStringParameter("studentIds", ".*")
+                )
+                .respond(
+                        response()
+                                .withStatusCode(200)
+                                .withBody(json("[{\"studentId\":\"c3540a89-cb47-4c96-888e-ff96708db4d8\",\"firstName\":\"Donna\",\"lastName\":\"Hornsby\",\"program\":\"History\",\"stuff\":\"stuff\"},{\"studentId\":\"1f538db7-320a-4415-bad4-e1d44518b1ff\",\"firstName\":\"Willis\",\"lastName\":\"Faraday\",\"program\":\"Pure and Applied Sciences\",\"stuff\":\"stuff\"}]", MediaType.APPLICATION_JSON))
+                                .withDelay(TimeUnit.SECONDS, 1)
+                );
+    }
+
 /*
     public void verifyGetStudent1ByStudentIdEndpoint() {
         mockServerClient.verify(
@@ -0,0 +1,57 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedIdsUnitTest {
+
+    @Test
+    void whenIdsGenerated_thenTheyAreStrictlyIncreasingUuidV7Strings() {
+        //more than the 4096 ids the counter holds in one millisecond
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(TimeOrderedIds.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+        UUID uuid = UUID.fromString(ids.get(0));
+        assertEquals(36, ids.get(0).length());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void whenIdGenerated_thenTimestampIsCloseToTheClock() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedIds.nextUuid();
+
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000, "timestamp " + millis);
+    }
+
+    @Test
+    void whenIdsGeneratedConcurrently_thenAllUnique() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            Set<String> local = new HashSet<>();
+            for (int i = 0; i < 10_000; i++) {
+                local.add(TimeOrderedIds.next());
+            }
+            ids.addAll(local);
+        });
+
+        assertEquals(80_000, ids.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.StudentsServiceApplication;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import com.champlain.studentsservice.utils.TimeOrderedIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+   Time and garbage of StudentService.getStudents() over 100k students, i.e. the cost of hydrating a Student
+   entity and mapping it, per row. Run with -Pjmh.includes=StudentList -Pjmh.profilers=gc and divide
+   gc.alloc.rate.norm by the number of students for the bytes allocated per row.
+   Starts the service with the h2 profile, the students are inserted with plain JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentListBenchmark {
+
+    static final int STUDENTS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(StudentsServiceApplication.class)
+                .profiles("h2")
+                .run("--server.port=0",
+                        "--spring.rsocket.server.port=0",
+                        //schema.sql is written for MySQL, hibernate creates the H2 tables
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.champlain=INFO");
+        List<Object[]> rows = IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new Object[]{TimeOrderedIds.next(), "Donna" + i, "Hornsby" + i, "Computer Science", "stuff"})
+                .toList();
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into students (student_id, first_name, last_name, program, stuff) values (?, ?, ?, ?, ?)", rows);
+        studentService = context.getBean(StudentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> getStudents() {
+        return studentService.getStudents();
+    }
+}
@@ -0,0 +1,104 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import com.champlain.studentsservice.utils.TimeOrderedIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+   Rows per second of batched inserts into the students table (unique index on student_id), with random
+   UUIDs against time-ordered ids. The table keeps growing over the trial, like a real one, and its size with
+   the indexes is printed at the end: random keys leave half-empty index pages behind after their splits.
+   Plain JDBC on a file H2 database in a temporary directory, no application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(StudentIdInsertBenchmark.BATCH_SIZE)
+public class StudentIdInsertBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "time-ordered"})
+    public String ids;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<String> idGenerator;
+
+    @Setup(Level.Trial)
+    public void createTable() throws IOException, SQLException {
+        idGenerator = ids.equals("random") ? () -> UUID.randomUUID().toString() : TimeOrderedIds::next;
+        directory = Files.createTempDirectory("students-ids");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("students") + ";MODE=MySQL");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table students (
+                        id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        student_id VARCHAR(36) UNIQUE,
+                        first_name VARCHAR(50),
+                        last_name VARCHAR(50),
+                        program VARCHAR(50),
+                        stuff TEXT
+                    )""");
+        }
+        connection.commit();
+        insert = connection.prepareStatement(
+                "insert into students (student_id, first_name, last_name, program, stuff) values (?, ?, ?, ?, ?)");
+    }
+
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, idGenerator.get());
+            insert.setString(2, "Donna");
+            insert.setString(3, "Hornsby");
+            insert.setString(4, "Computer Science");
+            insert.setString(5, "stuff");
+            insert.addBatch();
+        }
+        int[] inserted = insert.executeBatch();
+        connection.commit();
+        return inserted;
+    }
+
+    @TearDown(Level.Trial)
+    public void printSizeAndDrop() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery(
+                     "select count(*), disk_space_used('STUDENTS') from students")) {
+            size.next();
+            //the trials insert different numbers of rows, compare the bytes per row
+            System.out.printf("%n%s ids: %d rows, table and indexes %d KiB, %d bytes per row%n",
+                    ids, size.getLong(1), size.getLong(2) / 1024, size.getLong(2) / Math.max(1, size.getLong(1)));
+        }
+        insert.close();
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
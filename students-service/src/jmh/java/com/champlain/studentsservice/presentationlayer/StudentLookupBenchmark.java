@@ -0,0 +1,102 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.StudentsServiceApplication;
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+   Lookups per second of GET /api/v1/students/{studentId} with 1000 callers in flight at the same time,
+   students-service running on the Tomcat thread pool (platform) or on virtual threads (virtual-threads profile).
+   Each run starts the service on a random port with the h2 profile and 1000 students.
+   The virtual mode needs a JDK 21 runtime, on an older one it silently falls back to platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(StudentLookupBenchmark.CONCURRENT_CALLERS)
+public class StudentLookupBenchmark {
+
+    static final int CONCURRENT_CALLERS = 1000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<HttpRequest> lookups;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        String[] profiles = threads.equals("virtual") ? new String[]{"h2", "virtual-threads"} : new String[]{"h2"};
+        context = new SpringApplicationBuilder(StudentsServiceApplication.class)
+                .profiles(profiles)
+                //as command line arguments, default properties would lose to the ones of the profiles
+                .run("--server.port=0",
+                        "--spring.rsocket.server.port=0",
+                        //same connection backlog in both modes, only the threads differ
+                        "--server.tomcat.max-connections=10000",
+                        "--server.tomcat.accept-count=1000",
+                        //schema.sql is written for MySQL, hibernate creates the H2 tables
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.champlain=INFO");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+        List<Student> students = context.getBean(StudentRepository.class).saveAll(IntStream.range(0, CONCURRENT_CALLERS)
+                .mapToObj(i -> {
+                    Student student = new Student();
+                    student.setFirstName("Donna" + i);
+                    student.setLastName("Hornsby" + i);
+                    student.setProgram("Computer Science");
+                    return student;
+                })
+                .toList());
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        lookups = students.stream()
+                .map(student -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/students/"
+                                + student.getStudentIdentifier().getStudentId()))
+                        .header("Accept", "application/json")
+                        .build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    //one lookup per student, all sent at once, returns the number of 200 responses
+    @Benchmark
+    public long concurrentLookups() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = lookups.stream()
+                .map(lookup -> httpClient.sendAsync(lookup, HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        return responses.stream()
+                .map(CompletableFuture::join)
+                .filter(response -> response.statusCode() == 200)
+                .count();
+    }
+}
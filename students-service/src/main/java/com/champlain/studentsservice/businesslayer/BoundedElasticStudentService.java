@@ -0,0 +1,50 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+//ReactiveStudentService on top of the blocking JPA StudentService, each call runs on the boundedElastic scheduler
+@Service
+@Profile("!reactive")
+public class BoundedElasticStudentService implements ReactiveStudentService {
+
+    private final StudentService studentService;
+
+    public BoundedElasticStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Override
+    public Flux<StudentResponseModel> getStudents() {
+        return Mono.fromCallable(studentService::getStudents)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(students -> students);
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByRowId(Integer id, Set<String> fields) {
+        return Mono.fromCallable(() -> studentService.getStudentByRowId(id, fields))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByStudentId(String studentId, Set<String> fields) {
+        return Mono.fromCallable(() -> studentService.getStudentByStudentId(studentId, fields))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds, Set<String> fields) {
+        return Mono.fromCallable(() -> studentService.getStudentsByStudentIds(List.copyOf(studentIds), fields))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(students -> students);
+    }
+}
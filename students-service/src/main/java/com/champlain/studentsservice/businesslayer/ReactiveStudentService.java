@@ -0,0 +1,29 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ReactiveStudentService {
+
+    Flux<StudentResponseModel> getStudents();
+    //fields: the properties to read (see StudentResponseModel.FIELDS), every one of them when null
+    Mono<StudentResponseModel> getStudentByRowId(Integer id, Set<String> fields);
+    Mono<StudentResponseModel> getStudentByStudentId(String studentId, Set<String> fields);
+    Flux<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds, Set<String> fields);
+
+    default Mono<StudentResponseModel> getStudentByRowId(Integer id) {
+        return getStudentByRowId(id, null);
+    }
+
+    default Mono<StudentResponseModel> getStudentByStudentId(String studentId) {
+        return getStudentByStudentId(studentId, null);
+    }
+
+    default Flux<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds) {
+        return getStudentsByStudentIds(studentIds, null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudentRepository;
+import com.champlain.studentsservice.datamapperlayer.StudentResponseMapper;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+//reads through R2DBC, no thread ever blocks on the database
+@Service
+@Profile("reactive")
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+
+    private final StudentResponseMapper studentResponseMapper;
+    private final ReactiveStudentRepository studentRepository;
+
+    public ReactiveStudentServiceImpl(StudentResponseMapper studentResponseMapper, ReactiveStudentRepository studentRepository) {
+        this.studentResponseMapper = studentResponseMapper;
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public Flux<StudentResponseModel> getStudents() {
+        return studentRepository.findAll()
+                .map(studentResponseMapper::reactiveEntityToResponseModel);
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByRowId(Integer id, Set<String> fields) {
+        return (fields == null ? studentRepository.findById(id) : studentRepository.findProjectedById(id, fields))
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("No student at rowId: " + id))))
+                .map(studentResponseMapper::reactiveEntityToResponseModel);
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByStudentId(String studentId, Set<String> fields) {
+        return (fields == null
+                ? studentRepository.findStudentByStudentId(studentId)
+                : studentRepository.findProjectedByStudentId(studentId, fields))
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Unknown studentId: " + studentId))))
+                .map(studentResponseMapper::reactiveEntityToResponseModel);
+    }
+
+    @Override
+    public Flux<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds, Set<String> fields) {
+        //unknown ids are simply absent from the result, callers decide what a missing student means
+        return (fields == null
+                ? studentRepository.findAllByStudentIdIn(studentIds)
+                : studentRepository.findAllProjectedByStudentIdIn(studentIds, fields))
+                .map(studentResponseMapper::reactiveEntityToResponseModel);
+    }
+}
@@ -2,11 +2,30 @@ package com.champlain.studentsservice.businesslayer;
 
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface StudentService {
 
     List<StudentResponseModel> getStudents();
-    StudentResponseModel getStudentByRowId(Integer id);
-    StudentResponseModel getStudentByStudentId(String studentId);
+    //hands every student to the consumer one by one, without holding the table in memory
+    void streamStudents(Consumer<StudentResponseModel> consumer);
+    //fields: the properties to read (see StudentResponseModel.FIELDS), every one of them when null
+    StudentResponseModel getStudentByRowId(Integer id, Set<String> fields);
+    StudentResponseModel getStudentByStudentId(String studentId, Set<String> fields);
+    List<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds, Set<String> fields);
+
+    default StudentResponseModel getStudentByRowId(Integer id) {
+        return getStudentByRowId(id, null);
+    }
+
+    default StudentResponseModel getStudentByStudentId(String studentId) {
+        return getStudentByStudentId(studentId, null);
+    }
+
+    default List<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds) {
+        return getStudentsByStudentIds(studentIds, null);
+    }
 }
@@ -5,19 +5,30 @@ import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
 import com.champlain.studentsservice.datamapperlayer.StudentResponseMapper;
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class StudentServiceImpl implements StudentService{
 
     private final StudentResponseMapper studentResponseMapper;
     private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
 
-    public StudentServiceImpl(StudentResponseMapper studentResponseMapper, StudentRepository studentRepository) {
+    public StudentServiceImpl(StudentResponseMapper studentResponseMapper, StudentRepository studentRepository,
+                              EntityManager entityManager) {
         this.studentResponseMapper = studentResponseMapper;
         this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -26,8 +37,22 @@ public class StudentServiceImpl implements StudentService{
     }
 
     @Override
-    public StudentResponseModel getStudentByRowId(Integer id) {
-        Student foundStudent = studentRepository.findById(id).orElse(null);
+    @Transactional(readOnly = true)
+    public void streamStudents(Consumer<StudentResponseModel> consumer) {
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            students.forEach(student -> {
+                consumer.accept(studentResponseMapper.entityToResponseModel(student));
+                //the persistence context would otherwise keep every row read so far
+                entityManager.detach(student);
+            });
+        }
+    }
+
+    @Override
+    public StudentResponseModel getStudentByRowId(Integer id, Set<String> fields) {
+        Student foundStudent = fields == null
+                ? studentRepository.findById(id).orElse(null)
+                : studentRepository.findProjectedById(id, fields);
 
         if (foundStudent == null) {
             throw new NotFoundException("No student at rowId: " + id);
@@ -37,8 +62,10 @@ public class StudentServiceImpl implements StudentService{
     }
 
     @Override
-    public StudentResponseModel getStudentByStudentId(String studentId) {
-        Student foundStudent = studentRepository.findStudentByStudentIdentifier_StudentId(studentId);
+    public StudentResponseModel getStudentByStudentId(String studentId, Set<String> fields) {
+        Student foundStudent = fields == null
+                ? studentRepository.findStudentByStudentIdentifier_StudentId(studentId)
+                : studentRepository.findProjectedByStudentId(studentId, fields);
 
         if (foundStudent == null) {
             throw new NotFoundException("Unknown studentId: " + studentId);
@@ -46,4 +73,12 @@ public class StudentServiceImpl implements StudentService{
 
         return studentResponseMapper.entityToResponseModel(foundStudent);
     }
+
+    @Override
+    public List<StudentResponseModel> getStudentsByStudentIds(Collection<String> studentIds, Set<String> fields) {
+        //unknown ids are simply absent from the result, callers decide what a missing student means
+        return studentResponseMapper.entityListToResponseModelList(fields == null
+                ? studentRepository.findAllByStudentIdentifier_StudentIdIn(studentIds)
+                : studentRepository.findAllProjectedByStudentIdIn(studentIds, fields));
+    }
 }
@@ -0,0 +1,25 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+//R2DBC mapping of the students table, used with the reactive profile
+@Data
+@Builder
+@Table(name = "students")
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReactiveStudent {
+
+    @Id
+    private Integer id;
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String program;
+    private String stuff;
+}
@@ -0,0 +1,14 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveStudentRepository extends ReactiveCrudRepository<ReactiveStudent, Integer>, ReactiveStudentRepositoryCustom {
+
+    Mono<ReactiveStudent> findStudentByStudentId(String studentId);
+
+    Flux<ReactiveStudent> findAllByStudentIdIn(Collection<String> studentIds);
+}
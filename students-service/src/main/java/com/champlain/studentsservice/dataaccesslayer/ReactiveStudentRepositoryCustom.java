@@ -0,0 +1,17 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ReactiveStudentRepositoryCustom {
+
+    //same projection lookups as StudentRepositoryCustom: only the columns of the given properties are selected
+    Mono<ReactiveStudent> findProjectedById(Integer id, Set<String> fields);
+
+    Mono<ReactiveStudent> findProjectedByStudentId(String studentId, Set<String> fields);
+
+    Flux<ReactiveStudent> findAllProjectedByStudentIdIn(Collection<String> studentIds, Set<String> fields);
+}
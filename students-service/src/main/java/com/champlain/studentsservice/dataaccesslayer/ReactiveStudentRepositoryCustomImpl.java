@@ -0,0 +1,41 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public class ReactiveStudentRepositoryCustomImpl implements ReactiveStudentRepositoryCustom {
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    public ReactiveStudentRepositoryCustomImpl(R2dbcEntityTemplate entityTemplate) {
+        this.entityTemplate = entityTemplate;
+    }
+
+    @Override
+    public Mono<ReactiveStudent> findProjectedById(Integer id, Set<String> fields) {
+        return findProjected(Criteria.where("id").is(id), fields).next();
+    }
+
+    @Override
+    public Mono<ReactiveStudent> findProjectedByStudentId(String studentId, Set<String> fields) {
+        return findProjected(Criteria.where("studentId").is(studentId), fields).next();
+    }
+
+    @Override
+    public Flux<ReactiveStudent> findAllProjectedByStudentIdIn(Collection<String> studentIds, Set<String> fields) {
+        return findProjected(Criteria.where("studentId").in(studentIds), fields);
+    }
+
+    //the property names are mapped to their columns, the properties not selected stay null
+    private Flux<ReactiveStudent> findProjected(Criteria criteria, Set<String> fields) {
+        return entityTemplate.select(ReactiveStudent.class)
+                .matching(Query.query(criteria).columns(fields))
+                .all();
+    }
+}
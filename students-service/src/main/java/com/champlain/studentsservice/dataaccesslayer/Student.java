@@ -21,4 +21,12 @@ public class Student {
     private String lastName;
     private String program;
     private String stuff;
+
+    //the studentId is only generated for a new student, not for every one read
+    @PrePersist
+    void assignStudentId() {
+        if (studentIdentifier == null || studentIdentifier.getStudentId() == null) {
+            studentIdentifier = StudentIdentifier.generate();
+        }
+    }
 }
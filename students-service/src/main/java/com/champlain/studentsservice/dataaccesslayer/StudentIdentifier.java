@@ -1,17 +1,25 @@
 package com.champlain.studentsservice.dataaccesslayer;
 
+import com.champlain.studentsservice.utils.TimeOrderedIds;
 import jakarta.persistence.Embeddable;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Embeddable
 @Getter
 public class StudentIdentifier {
     private String studentId;
 
+    //used by Hibernate each time it reads a student, the studentId is then set from the row.
+    //New students get theirs when they are persisted, see Student.assignStudentId()
     public StudentIdentifier() {
-        this.studentId = UUID.randomUUID().toString();
+    }
+
+    public StudentIdentifier(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public static StudentIdentifier generate() {
+        return new StudentIdentifier(TimeOrderedIds.next());
     }
 
 }
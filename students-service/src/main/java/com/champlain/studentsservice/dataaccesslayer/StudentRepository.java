@@ -1,8 +1,27 @@
 package com.champlain.studentsservice.dataaccesslayer;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface StudentRepository extends JpaRepository<Student, Integer> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface StudentRepository extends JpaRepository<Student, Integer>, StudentRepositoryCustom {
 
     Student findStudentByStudentIdentifier_StudentId(String studentId);
+
+    List<Student> findAllByStudentIdentifier_StudentIdIn(Collection<String> studentIds);
+
+    //reads the table through a cursor, 500 rows at a time (MySQL needs useCursorFetch=true on the url for that),
+    //must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s")
+    Stream<Student> streamAll();
 }
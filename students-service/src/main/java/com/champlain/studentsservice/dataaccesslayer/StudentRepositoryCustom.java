@@ -0,0 +1,19 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface StudentRepositoryCustom {
+
+    /*
+       Projection lookups: the SELECT only lists the columns of the given properties of StudentResponseModel
+       (studentId, firstName, lastName, program, stuff), so e.g. the stuff TEXT column is not read unless asked for.
+       The students returned are not managed and only have those properties set.
+     */
+    Student findProjectedById(Integer id, Set<String> fields);
+
+    Student findProjectedByStudentId(String studentId, Set<String> fields);
+
+    List<Student> findAllProjectedByStudentIdIn(Collection<String> studentIds, Set<String> fields);
+}
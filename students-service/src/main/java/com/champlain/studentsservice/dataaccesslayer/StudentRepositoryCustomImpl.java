@@ -0,0 +1,80 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public StudentRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Student findProjectedById(Integer id, Set<String> fields) {
+        return findProjected((root, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id), fields)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Student findProjectedByStudentId(String studentId, Set<String> fields) {
+        return findProjected((root, criteriaBuilder) -> criteriaBuilder.equal(path(root, "studentId"), studentId), fields)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<Student> findAllProjectedByStudentIdIn(Collection<String> studentIds, Set<String> fields) {
+        return findProjected((root, criteriaBuilder) -> path(root, "studentId").in(studentIds), fields);
+    }
+
+    private List<Student> findProjected(BiFunction<Root<Student>, CriteriaBuilder, Predicate> condition, Set<String> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+
+        List<Selection<?>> columns = fields.stream()
+                .<Selection<?>>map(field -> path(root, field).alias(field))
+                .toList();
+        query.multiselect(columns).where(condition.apply(root, criteriaBuilder));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toStudent(tuple, fields))
+                .toList();
+    }
+
+    private static Path<Object> path(Root<Student> root, String field) {
+        return field.equals("studentId") ? root.get("studentIdentifier").get("studentId") : root.get(field);
+    }
+
+    private static Student toStudent(Tuple tuple, Set<String> fields) {
+        Student student = new Student();
+        for (String field : fields) {
+            String value = tuple.get(field, String.class);
+            switch (field) {
+                case "studentId" -> student.setStudentIdentifier(new StudentIdentifier(value));
+                case "firstName" -> student.setFirstName(value);
+                case "lastName" -> student.setLastName(value);
+                case "program" -> student.setProgram(value);
+                case "stuff" -> student.setStuff(value);
+                default -> throw new IllegalArgumentException("Not a field of Student: " + field);
+            }
+        }
+        return student;
+    }
+}
@@ -1,5 +1,6 @@
 package com.champlain.studentsservice.datamapperlayer;
 
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudent;
 import com.champlain.studentsservice.dataaccesslayer.Student;
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 import org.mapstruct.Mapper;
@@ -14,4 +15,6 @@ public interface StudentResponseMapper {
     StudentResponseModel entityToResponseModel(Student student);
 
     List<StudentResponseModel> entityListToResponseModelList(List<Student> students);
+
+    StudentResponseModel reactiveEntityToResponseModel(ReactiveStudent student);
 }
@@ -0,0 +1,83 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.businesslayer.ReactiveStudentService;
+import com.champlain.studentsservice.utils.EntityTags;
+import com.champlain.studentsservice.utils.FieldSelection;
+import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.champlain.studentsservice.presentationlayer.StudentController.APPLICATION_SMILE_VALUE;
+
+//same routes as StudentController, served on the Netty event loop when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/students")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService studentService;
+
+    public ReactiveStudentController(ReactiveStudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @GetMapping(value = "", produces = "application/json")
+    public Flux<StudentResponseModel> getStudents() {
+        return studentService.getStudents();
+    }
+
+    //the whole catalog as newline delimited JSON, rows are read from the database as the client takes them
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentResponseModel> exportStudents() {
+        return studentService.getStudents();
+    }
+
+    //get many by studentId in one round trip, e.g. ?studentIds=id1,id2,id3
+    //collected to a list, a Flux would be written as an array by joining JSON text, which is not valid Smile
+    @GetMapping(value = "", params = "studentIds", produces = {"application/json", APPLICATION_SMILE_VALUE})
+    public Mono<List<StudentResponseModel>> getStudentsByStudentIds(@RequestParam List<String> studentIds,
+                                                                    @RequestParam(required = false) List<String> fields) {
+        return Mono.just(studentIds)
+                .filter(ids -> ids.stream().allMatch(studentId -> studentId.length() == 36))
+                .switchIfEmpty(Mono.error(new InvalidInputException("Invalid studentIds: " + studentIds)))
+                .flatMapMany(ids -> studentService.getStudentsByStudentIds(ids, selection(fields)))
+                .collectList();
+    }
+
+    //get by database rowId
+    @GetMapping(value = "/row/{id}", produces = "application/json")
+    public Mono<StudentResponseModel> getStudentByRowId(@PathVariable Integer id,
+                                                        @RequestParam(required = false) List<String> fields) {
+        return Mono.defer(() -> studentService.getStudentByRowId(id, selection(fields)));
+    }
+
+    //get by studentId, answered with 304 and no body when If-None-Match has the current ETag
+    @GetMapping(value = "/{studentId}", produces = {"application/json", APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<StudentResponseModel>> getStudentByStudentId(@PathVariable String studentId,
+                                                                            @RequestParam(required = false) List<String> fields) {
+        return Mono.just(studentId)
+                .filter(id -> id.length() == 36)
+                .switchIfEmpty(Mono.error(new InvalidInputException("Invalid studentId: " + studentId)))
+                .flatMap(id -> studentService.getStudentByStudentId(id, selection(fields)))
+                .map(student -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(student))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(student));
+    }
+
+    private static Set<String> selection(List<String> fields) {
+        return FieldSelection.parse(fields, StudentResponseModel.FIELDS, "studentId");
+    }
+}
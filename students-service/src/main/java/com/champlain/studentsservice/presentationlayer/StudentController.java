@@ -1,23 +1,44 @@
 package com.champlain.studentsservice.presentationlayer;
 
 import com.champlain.studentsservice.businesslayer.StudentService;
+import com.champlain.studentsservice.utils.EntityTags;
+import com.champlain.studentsservice.utils.FieldSelection;
 import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/students")
 public class StudentController {
 
+    //binary Jackson encoding enrollments-service asks for, smaller and cheaper to parse than JSON text
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final StudentService studentService;
+    //the response is flushed by Tomcat as its buffer fills, not after every student
+    private final ObjectWriter exportWriter;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping(value = "",
@@ -26,19 +47,62 @@ public class StudentController {
         return ResponseEntity.ok().body(studentService.getStudents());
     }
 
+    //the whole catalog as newline delimited JSON, written while the rows are read so the heap use does not
+    //depend on the number of students
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(outputStream -> {
+            try (JsonGenerator generator = exportWriter.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                //each student ends with a newline instead of being separated by a space
+                generator.setRootValueSeparator(null);
+                studentService.streamStudents(student -> {
+                    try {
+                        exportWriter.writeValue(generator, student);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        //the client went away, stops reading the table
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+    }
+
+    //get many by studentId in one round trip, e.g. ?studentIds=id1,id2,id3
+    //the lookups take an optional fields=firstName,lastName to only read and return those fields (and studentId)
+    @GetMapping(value = "", params = "studentIds", produces = {"application/json", APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<StudentResponseModel>> getStudentsByStudentIds(@RequestParam List<String> studentIds,
+                                                                              @RequestParam(required = false) List<String> fields) {
+        if (studentIds.stream().anyMatch(studentId -> studentId.length() != 36)) {
+            throw new InvalidInputException("Invalid studentIds: " + studentIds);
+        }
+        return ResponseEntity.ok().body(studentService.getStudentsByStudentIds(studentIds, selection(fields)));
+    }
+
     //get by database rowId
     @GetMapping(value = "/row/{id}", produces = "application/json")
-    public ResponseEntity<StudentResponseModel> getStudentByRowId(@PathVariable Integer id) {
-        return ResponseEntity.ok().body(studentService.getStudentByRowId(id));
+    public ResponseEntity<StudentResponseModel> getStudentByRowId(@PathVariable Integer id,
+                                                                  @RequestParam(required = false) List<String> fields) {
+        return ResponseEntity.ok().body(studentService.getStudentByRowId(id, selection(fields)));
     }
 
-    //get by studentId
-    @GetMapping(value = "/{studentId}", produces = "application/json")
-    public ResponseEntity<StudentResponseModel> getStudentByStudentId(@PathVariable String studentId) {
+    //get by studentId, answered with 304 and no body when If-None-Match has the current ETag
+    @GetMapping(value = "/{studentId}", produces = {"application/json", APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StudentResponseModel> getStudentByStudentId(@PathVariable String studentId,
+                                                                      @RequestParam(required = false) List<String> fields) {
         if (studentId.length() != 36) {
             throw new InvalidInputException("Invalid studentId: " + studentId);
         }
-        return ResponseEntity.ok().body(studentService.getStudentByStudentId(studentId));
+        StudentResponseModel student = studentService.getStudentByStudentId(studentId, selection(fields));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(student))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(student);
+    }
+
+    private static Set<String> selection(List<String> fields) {
+        return FieldSelection.parse(fields, StudentResponseModel.FIELDS, "studentId");
     }
     
 }
@@ -0,0 +1,75 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.businesslayer.ReactiveStudentService;
+import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import io.rsocket.exceptions.CustomRSocketException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+   RSocket routes for enrollments-service, next to the HTTP ones of StudentController (or ReactiveStudentController).
+   With JPA the ReactiveStudentService runs every lookup on the boundedElastic scheduler, with the reactive
+   profile it reads through R2DBC.
+   NotFound and InvalidInput are sent as custom RSocket errors with the codes below, the equivalent of 404 and 422.
+ */
+@Controller
+public class StudentRSocketController {
+
+    public static final int NOT_FOUND_ERROR_CODE = 0x404;
+    public static final int INVALID_INPUT_ERROR_CODE = 0x422;
+
+    //ids read from the channel per database query
+    private static final int BATCH_SIZE = 100;
+
+    private final ReactiveStudentService studentService;
+
+    public StudentRSocketController(ReactiveStudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    //request-response
+    @MessageMapping("students.{studentId}")
+    public Mono<StudentResponseModel> getStudentByStudentId(@DestinationVariable String studentId) {
+        return Mono.fromRunnable(() -> validateStudentId(studentId))
+                .then(studentService.getStudentByStudentId(studentId));
+    }
+
+    /*
+       request-channel: the requester streams studentIds and receives the students that exist. Ids are only
+       requested from the requester as the students already sent are consumed, so a slow consumer slows down the lookups.
+     */
+    @MessageMapping("students.batch")
+    public Flux<StudentResponseModel> getStudentsByStudentIds(Flux<String> studentIds) {
+        return studentIds
+                .doOnNext(this::validateStudentId)
+                .buffer(BATCH_SIZE)
+                .concatMap(studentService::getStudentsByStudentIds);
+    }
+
+    //request-stream
+    @MessageMapping("students")
+    public Flux<StudentResponseModel> getStudents() {
+        return studentService.getStudents();
+    }
+
+    @MessageExceptionHandler(NotFoundException.class)
+    public Mono<Void> handleNotFoundException(NotFoundException ex) {
+        return Mono.error(new CustomRSocketException(NOT_FOUND_ERROR_CODE, ex.getMessage()));
+    }
+
+    @MessageExceptionHandler(InvalidInputException.class)
+    public Mono<Void> handleInvalidInputException(InvalidInputException ex) {
+        return Mono.error(new CustomRSocketException(INVALID_INPUT_ERROR_CODE, ex.getMessage()));
+    }
+
+    private void validateStudentId(String studentId) {
+        if (studentId.length() != 36) {
+            throw new InvalidInputException("Invalid studentId: " + studentId);
+        }
+    }
+}
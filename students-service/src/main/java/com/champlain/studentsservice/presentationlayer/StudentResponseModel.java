@@ -1,16 +1,24 @@
 package com.champlain.studentsservice.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Set;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+//fields left out by a fields= selection are not written at all
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class StudentResponseModel {
 
+    //what fields= can select, studentId is always returned
+    public static final Set<String> FIELDS = Set.of("studentId", "firstName", "lastName", "program", "stuff");
+
     private String studentId;
     private String firstName;
     private String lastName;
@@ -0,0 +1,29 @@
+package com.champlain.studentsservice.utils;
+
+import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+//sparse fieldsets: turns the fields= parameter of a lookup into the set of properties to read
+public class FieldSelection {
+
+    //null when no fields are given (every field is read), the key field is always part of the selection so that
+    //batch results can still be matched with the ids asked for
+    public static Set<String> parse(List<String> fields, Set<String> selectableFields, String keyField) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        Set<String> selection = new LinkedHashSet<>();
+        selection.add(keyField);
+        for (String field : fields) {
+            if (!selectableFields.contains(field)) {
+                throw new InvalidInputException("Unknown field: " + field + ", expected some of " + new TreeSet<>(selectableFields));
+            }
+            selection.add(field);
+        }
+        return selection;
+    }
+}
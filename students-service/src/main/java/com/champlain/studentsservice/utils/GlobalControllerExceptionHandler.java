@@ -3,6 +3,7 @@ package com.champlain.studentsservice.utils;
 import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.studentsservice.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -13,6 +14,7 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @RestControllerAdvice
+@Profile("!reactive")
 @Slf4j
 public class GlobalControllerExceptionHandler {
 
@@ -0,0 +1,58 @@
+package com.champlain.studentsservice.utils;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/*
+   With the virtual-threads profile, logs every time a virtual thread stayed pinned to its carrier thread
+   for longer than the threshold (blocking inside synchronized code or a native frame), with the top of
+   its stack. A pinned virtual thread holds a carrier thread like a platform thread would, so frequent
+   pinning (e.g. in the JDBC driver) takes away the benefit of the profile.
+   Reads the jdk.VirtualThreadPinned JFR event in process, nothing is written to disk.
+ */
+@Component
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recordingStream = new RecordingStream();
+
+    public VirtualThreadPinningMonitor(@Value("${app.pinning-monitor.threshold:20ms}") Duration threshold) {
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::logPinnedThread);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private void logPinnedThread(RecordedEvent event) {
+        String stack = event.getStackTrace() == null ? "no stack trace" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        log.warn("Virtual thread {} pinned for {} ms\n{}",
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                event.getDuration().toMillis(), stack);
+    }
+}
@@ -0,0 +1,163 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudent;
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudentRepository;
+import com.champlain.studentsservice.datamapperlayer.StudentResponseMapper;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveStudentServiceUnitTest {
+
+    @InjectMocks
+    private ReactiveStudentServiceImpl studentService;
+    @Mock
+    private ReactiveStudentRepository studentRepository;
+    @Spy
+    private StudentResponseMapper studentResponseMapper = Mappers.getMapper(StudentResponseMapper.class);
+
+    private final ReactiveStudent student1 = ReactiveStudent.builder()
+            .id(1)
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Donna")
+            .lastName("Hornsby")
+            .program("History")
+            .stuff("stuff")
+            .build();
+    private final ReactiveStudent student2 = ReactiveStudent.builder()
+            .id(2)
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Christine")
+            .lastName("Gerard")
+            .program("Computer Science")
+            .stuff("stuff")
+            .build();
+
+    @Test
+    void getStudents_thenReturnAllStudents() {
+        when(studentRepository.findAll()).thenReturn(Flux.just(student1, student2));
+
+        StepVerifier.create(studentService.getStudents())
+                .expectNextMatches(student -> student.getStudentId().equals(student1.getStudentId()))
+                .expectNextMatches(student -> student.getStudentId().equals(student2.getStudentId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getStudentByStudentId_withExistingId_thenReturnStudentResponseModel() {
+        String studentId = student1.getStudentId();
+        when(studentRepository.findStudentByStudentId(studentId)).thenReturn(Mono.just(student1));
+
+        StepVerifier.create(studentService.getStudentByStudentId(studentId))
+                .expectNextMatches(studentResponseModel -> {
+                    assertEquals(studentId, studentResponseModel.getStudentId());
+                    assertEquals(student1.getFirstName(), studentResponseModel.getFirstName());
+                    assertEquals(student1.getLastName(), studentResponseModel.getLastName());
+                    assertEquals(student1.getProgram(), studentResponseModel.getProgram());
+                    assertEquals(student1.getStuff(), studentResponseModel.getStuff());
+                    return true;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getStudentByStudentId_withNonExistingId_thenThrowNotFoundException() {
+        String studentId = UUID.randomUUID().toString();
+        when(studentRepository.findStudentByStudentId(studentId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(studentService.getStudentByStudentId(studentId))
+                .expectErrorMessage("Unknown studentId: " + studentId)
+                .verify();
+    }
+
+    @Test
+    void getStudentByStudentId_withFields_thenReadProjection() {
+        String studentId = student1.getStudentId();
+        Set<String> fields = Set.of("studentId", "firstName");
+        when(studentRepository.findProjectedByStudentId(studentId, fields)).thenReturn(Mono.just(ReactiveStudent.builder()
+                .studentId(studentId)
+                .firstName(student1.getFirstName())
+                .build()));
+
+        StepVerifier.create(studentService.getStudentByStudentId(studentId, fields))
+                .expectNextMatches(studentResponseModel -> {
+                    assertEquals(studentId, studentResponseModel.getStudentId());
+                    assertEquals(student1.getFirstName(), studentResponseModel.getFirstName());
+                    assertNull(studentResponseModel.getLastName());
+                    return true;
+                })
+                .verifyComplete();
+
+        verify(studentRepository, never()).findStudentByStudentId(studentId);
+    }
+
+    @Test
+    void getStudentByRowId_withNonExistingId_thenThrowNotFoundException() {
+        when(studentRepository.findById(42)).thenReturn(Mono.empty());
+
+        StepVerifier.create(studentService.getStudentByRowId(42))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getStudentByRowId_withFields_thenReadProjection() {
+        Set<String> fields = Set.of("studentId", "program");
+        when(studentRepository.findProjectedById(1, fields)).thenReturn(Mono.just(ReactiveStudent.builder()
+                .studentId(student1.getStudentId())
+                .program(student1.getProgram())
+                .build()));
+
+        StepVerifier.create(studentService.getStudentByRowId(1, fields))
+                .expectNext(StudentResponseModel.builder()
+                        .studentId(student1.getStudentId())
+                        .program(student1.getProgram())
+                        .build())
+                .verifyComplete();
+    }
+
+    @Test
+    void getStudentsByStudentIds_withUnknownId_thenReturnOnlyKnownStudents() {
+        List<String> studentIds = List.of(student1.getStudentId(), UUID.randomUUID().toString());
+        when(studentRepository.findAllByStudentIdIn(studentIds)).thenReturn(Flux.just(student1));
+
+        StepVerifier.create(studentService.getStudentsByStudentIds(studentIds))
+                .expectNextMatches(student -> student.getStudentId().equals(student1.getStudentId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getStudentsByStudentIds_withFields_thenReadProjection() {
+        List<String> studentIds = List.of(student1.getStudentId(), student2.getStudentId());
+        Set<String> fields = Set.of("studentId", "lastName");
+        when(studentRepository.findAllProjectedByStudentIdIn(studentIds, fields)).thenReturn(Flux.just(
+                ReactiveStudent.builder().studentId(student1.getStudentId()).lastName(student1.getLastName()).build(),
+                ReactiveStudent.builder().studentId(student2.getStudentId()).lastName(student2.getLastName()).build()));
+
+        StepVerifier.create(studentService.getStudentsByStudentIds(studentIds, fields))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(studentRepository, never()).findAllByStudentIdIn(studentIds);
+    }
+}
@@ -0,0 +1,149 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataR2dbcTest
+@ActiveProfiles("reactive")
+class ReactiveStudentRepositoryIntegrationTest {
+
+    @Autowired
+    private ReactiveStudentRepository studentRepository;
+
+    private final ReactiveStudent student1 = ReactiveStudent.builder()
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Donna")
+            .lastName("Hornsby")
+            .program("History")
+            .stuff("stuff")
+            .build();
+    private final ReactiveStudent student2 = ReactiveStudent.builder()
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Christine")
+            .lastName("Gerard")
+            .program("Computer Science")
+            .stuff("stuff")
+            .build();
+    private final ReactiveStudent student3 = ReactiveStudent.builder()
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Alain")
+            .lastName("Laurent")
+            .program("Physics")
+            .stuff("stuff")
+            .build();
+
+    @BeforeEach
+    void setUpDB() {
+        StepVerifier
+                .create(studentRepository.deleteAll()
+                        .thenMany(studentRepository.saveAll(List.of(student1, student2, student3))))
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void findStudentByStudentId_withExistingId_shouldReturnStudent() {
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(student1.getStudentId()))
+                .consumeNextWith(foundStudent -> {
+                    assertNotNull(foundStudent.getId());
+                    assertEquals(student1.getStudentId(), foundStudent.getStudentId());
+                    assertEquals("Donna", foundStudent.getFirstName());
+                    assertEquals("History", foundStudent.getProgram());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findStudentByStudentId_withNonExistingId_shouldReturnEmpty() {
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(UUID.randomUUID().toString()))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByStudentIdIn_shouldReturnOnlyRequestedStudents() {
+        StepVerifier
+                .create(studentRepository
+                        .findAllByStudentIdIn(List.of(student1.getStudentId(), student3.getStudentId(), UUID.randomUUID().toString()))
+                        .map(ReactiveStudent::getStudentId)
+                        .collectList())
+                .consumeNextWith(studentIds -> {
+                    assertEquals(2, studentIds.size());
+                    assertTrue(studentIds.containsAll(List.of(student1.getStudentId(), student3.getStudentId())));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findProjectedById_shouldOnlyReadRequestedFields() {
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(student2.getStudentId())
+                        .flatMap(saved -> studentRepository.findProjectedById(saved.getId(), Set.of("studentId", "lastName"))))
+                .consumeNextWith(foundStudent -> {
+                    assertEquals(student2.getStudentId(), foundStudent.getStudentId());
+                    assertEquals("Gerard", foundStudent.getLastName());
+                    assertNull(foundStudent.getId());
+                    assertNull(foundStudent.getFirstName());
+                    assertNull(foundStudent.getProgram());
+                    assertNull(foundStudent.getStuff());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findProjectedByStudentId_shouldOnlyReadRequestedFields() {
+        StepVerifier
+                .create(studentRepository.findProjectedByStudentId(student1.getStudentId(), Set.of("studentId", "firstName")))
+                .consumeNextWith(foundStudent -> {
+                    assertEquals(student1.getStudentId(), foundStudent.getStudentId());
+                    assertEquals("Donna", foundStudent.getFirstName());
+                    assertNull(foundStudent.getId());
+                    assertNull(foundStudent.getLastName());
+                    assertNull(foundStudent.getProgram());
+                    assertNull(foundStudent.getStuff());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findProjectedByStudentId_withNonExistingId_shouldReturnEmpty() {
+        StepVerifier
+                .create(studentRepository.findProjectedByStudentId(UUID.randomUUID().toString(), Set.of("studentId")))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllProjectedByStudentIdIn_shouldReturnOnlyRequestedStudentsAndFields() {
+        StepVerifier
+                .create(studentRepository
+                        .findAllProjectedByStudentIdIn(List.of(student2.getStudentId(), student3.getStudentId()), Set.of("studentId", "program"))
+                        .collectList())
+                .consumeNextWith(foundStudents -> {
+                    assertEquals(2, foundStudents.size());
+                    assertTrue(foundStudents.stream().map(ReactiveStudent::getStudentId).toList()
+                            .containsAll(List.of(student2.getStudentId(), student3.getStudentId())));
+                    foundStudents.forEach(foundStudent -> {
+                        assertNotNull(foundStudent.getProgram());
+                        assertNull(foundStudent.getFirstName());
+                        assertNull(foundStudent.getLastName());
+                    });
+                })
+                .verifyComplete();
+    }
+}
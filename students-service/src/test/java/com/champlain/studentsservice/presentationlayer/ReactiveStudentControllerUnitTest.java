@@ -0,0 +1,212 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.businesslayer.ReactiveStudentService;
+import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveStudentController.class)
+@ActiveProfiles("reactive")
+class ReactiveStudentControllerUnitTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveStudentService studentService;
+
+    private final StudentResponseModel student1 = StudentResponseModel.builder()
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Donna")
+            .lastName("Hornsby")
+            .program("History")
+            .stuff("stuff")
+            .build();
+    private final StudentResponseModel student2 = StudentResponseModel.builder()
+            .studentId(UUID.randomUUID().toString())
+            .firstName("Christine")
+            .lastName("Gerard")
+            .program("Computer Science")
+            .stuff("stuff")
+            .build();
+
+    @Test
+    void getStudents_studentsReturned() {
+        when(studentService.getStudents()).thenReturn(Flux.just(student1, student2));
+
+        webTestClient.get()
+                .uri("/api/v1/students")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StudentResponseModel.class)
+                .isEqualTo(List.of(student1, student2));
+    }
+
+    @Test
+    void exportStudents_studentsReturnedAsNdjson() {
+        when(studentService.getStudents()).thenReturn(Flux.just(student1, student2));
+
+        webTestClient.get()
+                .uri("/api/v1/students/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(StudentResponseModel.class)
+                .isEqualTo(List.of(student1, student2));
+    }
+
+    @Test
+    void getStudentByStudentId_validStudentId_studentReturnedWithWeakETag() {
+        when(studentService.getStudentByStudentId(student1.getStudentId(), null)).thenReturn(Mono.just(student1));
+
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}", student1.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectHeader().value(HttpHeaders.ETAG, eTag -> assertTrue(eTag.startsWith("W/\""), eTag))
+                .expectBody(StudentResponseModel.class)
+                .isEqualTo(student1);
+
+        verify(studentService, times(1)).getStudentByStudentId(student1.getStudentId(), null);
+    }
+
+    @Test
+    void getStudentByStudentId_withSameETag_notModified() {
+        when(studentService.getStudentByStudentId(student1.getStudentId(), null)).thenReturn(Mono.just(student1));
+
+        String eTag = webTestClient.get()
+                .uri("/api/v1/students/{studentId}", student1.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StudentResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}", student1.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getStudentByStudentId_withFields_selectionRequested() {
+        StudentResponseModel names = StudentResponseModel.builder()
+                .studentId(student1.getStudentId())
+                .firstName(student1.getFirstName())
+                .lastName(student1.getLastName())
+                .build();
+        when(studentService.getStudentByStudentId(student1.getStudentId(), Set.of("studentId", "firstName", "lastName")))
+                .thenReturn(Mono.just(names));
+
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}?fields=firstName,lastName", student1.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Donna")
+                .jsonPath("$.program").doesNotExist();
+    }
+
+    @Test
+    void getStudentByStudentId_withUnknownField_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}?fields=gpa", student1.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verify(studentService, never()).getStudentByStudentId(anyString(), any());
+    }
+
+    @Test
+    void getStudentByStudentId_invalidStudentId_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}", "invalid-id")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid studentId: invalid-id");
+
+        verify(studentService, never()).getStudentByStudentId(anyString(), any());
+    }
+
+    @Test
+    void getStudentByStudentId_unknownStudentId_throwsNotFoundException() {
+        String studentId = UUID.randomUUID().toString();
+        when(studentService.getStudentByStudentId(studentId, null))
+                .thenReturn(Mono.error(new NotFoundException("Unknown studentId: " + studentId)));
+
+        webTestClient.get()
+                .uri("/api/v1/students/{studentId}", studentId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown studentId: " + studentId);
+    }
+
+    @Test
+    void getStudentsByStudentIds_validStudentIds_studentsReturned() {
+        List<String> studentIds = List.of(student1.getStudentId(), student2.getStudentId());
+        when(studentService.getStudentsByStudentIds(studentIds, null)).thenReturn(Flux.just(student1, student2));
+
+        webTestClient.get()
+                .uri("/api/v1/students?studentIds={studentIds}", String.join(",", studentIds))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StudentResponseModel.class)
+                .isEqualTo(List.of(student1, student2));
+    }
+
+    @Test
+    void getStudentsByStudentIds_invalidStudentId_throwsInvalidInputException() {
+        webTestClient.get()
+                .uri("/api/v1/students?studentIds={studentIds}", student1.getStudentId() + ",invalid-id")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        verify(studentService, never()).getStudentsByStudentIds(any(), any());
+    }
+
+    @Test
+    void getStudentByRowId_unknownRowId_throwsNotFoundException() {
+        when(studentService.getStudentByRowId(42, null))
+                .thenReturn(Mono.error(new NotFoundException("No student at rowId: 42")));
+
+        webTestClient.get()
+                .uri("/api/v1/students/row/{id}", 42)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}